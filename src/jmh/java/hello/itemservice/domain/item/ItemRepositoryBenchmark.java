@@ -0,0 +1,59 @@
+package hello.itemservice.domain.item;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * ItemRepository의 save, findById, findAll 처리량. (스레드 1개)
+ * 상품 수(size)와 저장 방식(storage)을 바꿔 가며 잰다. 스레드를 늘린 결과는 ItemRepositoryConcurrentBenchmark를 본다.
+ * save는 측정하는 동안 상품이 계속 늘어나므로 반복(iteration)마다 저장소를 새로 채운다. size는 반복을 시작할 때의 상품 수다.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Threads(1)
+public class ItemRepositoryBenchmark {
+
+    @Param({"1000", "100000"})
+    int size;
+
+    @Param({"MAP", "COLUMNAR"})
+    ItemRepository.Storage storage;
+
+    ItemRepository itemRepository;
+
+    @Setup(Level.Iteration)
+    public void setUp() {
+        itemRepository = new ItemRepository(storage);
+        for (int i = 0; i < size; i++) {
+            itemRepository.save(new Item("item" + i, 1000 + i % 100000, 1 + i % 9999));
+        }
+    }
+
+    @Benchmark
+    public Item save() {
+        return itemRepository.save(new Item("item", 10000, 10));
+    }
+
+    @Benchmark
+    public Item findById() {
+        return itemRepository.findById(1 + ThreadLocalRandom.current().nextLong(size));
+    }
+
+    @Benchmark
+    public List<Item> findAll() {
+        return itemRepository.findAll();
+    }
+}
@@ -0,0 +1,11 @@
+package hello.itemservice.domain.item;
+
+import org.openjdk.jmh.annotations.Threads;
+
+/**
+ * ItemRepositoryBenchmark를 스레드 8개로 실행한다. (여러 컨트롤러에서 동시에 요청이 들어오는 경우)
+ * 다른 스레드 수는 ./gradlew jmh -Pjmh.includes=ItemRepository 에 jmh { threads = N }을 주거나 -t 옵션으로 바꾼다.
+ */
+@Threads(8)
+public class ItemRepositoryConcurrentBenchmark extends ItemRepositoryBenchmark {
+}
@@ -0,0 +1,83 @@
+package hello.itemservice.validation;
+
+import hello.itemservice.domain.item.Item;
+import hello.itemservice.web.validation.CompiledValidator;
+import hello.itemservice.web.validation.ItemValidator;
+import hello.itemservice.web.validation.form.ItemSaveForm;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.validation.BeanPropertyBindingResult;
+import org.springframework.validation.BindingResult;
+import org.springframework.validation.beanvalidation.LocalValidatorFactoryBean;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * ItemValidator(직접 만든 검증기)와 Bean Validation(ItemSaveForm)의 검증 비용 비교.
+ * valid는 오류가 없는 입력, invalid는 모든 필드와 totalPriceMin이 실패하는 입력이다.
+ * 오류가 나면 메시지 코드와 기본 메시지를 만드는 비용까지 포함된다.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class ItemValidationBenchmark {
+
+    @Param({"valid", "invalid"})
+    String input;
+
+    ItemValidator itemValidator;
+    LocalValidatorFactoryBean validatorFactory;
+    ExpressionMinValidatorAdapter beanValidator;
+    CompiledValidator compiledValidator;
+    Item item;
+    ItemSaveForm form;
+
+    @Setup
+    public void setUp() {
+        itemValidator = new ItemValidator();
+        validatorFactory = new LocalValidatorFactoryBean();
+        validatorFactory.afterPropertiesSet();
+        beanValidator = new ExpressionMinValidatorAdapter(validatorFactory);
+        compiledValidator = CompiledValidator.compile(ItemSaveForm.class, validatorFactory);
+
+        boolean valid = input.equals("valid");
+        item = valid ? new Item("itemA", 10000, 10) : new Item(" ", 0, 0);
+        form = new ItemSaveForm();
+        form.setItemName(item.getItemName());
+        form.setPrice(item.getPrice());
+        form.setQuantity(item.getQuantity());
+    }
+
+    @TearDown
+    public void tearDown() {
+        validatorFactory.destroy();
+    }
+
+    @Benchmark
+    public BindingResult itemValidator() {
+        BindingResult bindingResult = new BeanPropertyBindingResult(item, "item");
+        itemValidator.validate(item, bindingResult);
+        return bindingResult;
+    }
+
+    @Benchmark
+    public BindingResult beanValidation() {
+        BindingResult bindingResult = new BeanPropertyBindingResult(form, "item");
+        beanValidator.validate(form, bindingResult);
+        return bindingResult;
+    }
+
+    @Benchmark
+    public BindingResult compiledBeanValidation() {
+        BindingResult bindingResult = new BeanPropertyBindingResult(form, "item");
+        compiledValidator.validate(form, bindingResult);
+        return bindingResult;
+    }
+}
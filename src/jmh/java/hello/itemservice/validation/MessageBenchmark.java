@@ -0,0 +1,75 @@
+package hello.itemservice.validation;
+
+import hello.itemservice.message.PrecompiledMessageSource;
+import hello.itemservice.web.validation.CachingMessageCodesResolver;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.context.MessageSource;
+import org.springframework.context.support.ResourceBundleMessageSource;
+import org.springframework.validation.DefaultMessageCodesResolver;
+import org.springframework.validation.FieldError;
+import org.springframework.validation.MessageCodesResolver;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 오류 메시지를 만드는 두 단계의 비용.
+ * - 메시지 코드 : DefaultMessageCodesResolver, CachingMessageCodesResolver
+ * - 메시지 : errors.properties에서 range.item.price를 찾아서 인자를 채운다.
+ *   ResourceBundleMessageSource(스프링 부트 기본), PrecompiledMessageSource(item.messages.precompiled=true)
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class MessageBenchmark {
+
+    MessageCodesResolver defaultCodesResolver;
+    MessageCodesResolver cachingCodesResolver;
+    MessageSource resourceBundleMessageSource;
+    MessageSource precompiledMessageSource;
+    FieldError fieldError;
+
+    @Setup
+    public void setUp() {
+        defaultCodesResolver = new DefaultMessageCodesResolver();
+        cachingCodesResolver = new CachingMessageCodesResolver();
+
+        ResourceBundleMessageSource messageSource = new ResourceBundleMessageSource();
+        messageSource.setBasenames("messages", "errors");
+        messageSource.setDefaultEncoding("UTF-8");
+        resourceBundleMessageSource = messageSource;
+        precompiledMessageSource = new PrecompiledMessageSource(List.of("messages", "errors"), StandardCharsets.UTF_8,
+                List.of(Locale.KOREAN, Locale.ENGLISH), true);
+
+        String[] codes = defaultCodesResolver.resolveMessageCodes("range", "item", "price", Integer.class);
+        fieldError = new FieldError("item", "price", 0, false, codes, new Object[]{1000, 1000000}, null);
+    }
+
+    @Benchmark
+    public String[] defaultMessageCodesResolver() {
+        return defaultCodesResolver.resolveMessageCodes("range", "item", "price", Integer.class);
+    }
+
+    @Benchmark
+    public String[] cachingMessageCodesResolver() {
+        return cachingCodesResolver.resolveMessageCodes("range", "item", "price", Integer.class);
+    }
+
+    @Benchmark
+    public String resourceBundleMessage() {
+        return resourceBundleMessageSource.getMessage(fieldError, Locale.KOREAN);
+    }
+
+    @Benchmark
+    public String precompiledMessage() {
+        return precompiledMessageSource.getMessage(fieldError, Locale.KOREAN);
+    }
+}
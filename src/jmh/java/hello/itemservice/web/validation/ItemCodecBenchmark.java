@@ -0,0 +1,111 @@
+package hello.itemservice.web.validation;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import hello.itemservice.web.validation.form.ItemSaveForm;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 상품 API 본문의 형식별 비용. JSON, CBOR(application/cbor), Smile(application/x-jackson-smile)
+ * - encode/decode : 등록 요청(ItemSaveForm)과 검증 오류 목록(ItemError 3건)
+ * - 크기 : Payload 보조 카운터(formBytes, errorsBytes)로 결과 JSON에 같이 남는다.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class ItemCodecBenchmark {
+
+    @Param({"json", "cbor", "smile"})
+    String format;
+
+    ObjectMapper objectMapper;
+    ItemSaveForm form;
+    List<ItemError> errors;
+    byte[] formBytes;
+    byte[] errorsBytes;
+
+    @Setup
+    public void setUp() throws IOException {
+        switch (format) {
+            case "cbor":
+                objectMapper = new ObjectMapper(new CBORFactory());
+                break;
+            case "smile":
+                objectMapper = new ObjectMapper(new SmileFactory());
+                break;
+            default:
+                objectMapper = new ObjectMapper();
+        }
+        form = new ItemSaveForm();
+        form.setItemName("itemA");
+        form.setPrice(10000);
+        form.setQuantity(10);
+        errors = List.of(
+                new ItemError("itemName", "NotBlank", "공백일 수 없습니다"),
+                new ItemError("price", "Range", "가격은 1,000 ~ 1,000,000 까지 허용합니다."),
+                new ItemError("quantity", "Max", "수량은 최대 9,999 까지 허용합니다."));
+        formBytes = objectMapper.writeValueAsBytes(form);
+        errorsBytes = objectMapper.writeValueAsBytes(errors);
+    }
+
+    @Benchmark
+    public byte[] encodeForm() throws IOException {
+        return objectMapper.writeValueAsBytes(form);
+    }
+
+    @Benchmark
+    public ItemSaveForm decodeForm() throws IOException {
+        return objectMapper.readValue(formBytes, ItemSaveForm.class);
+    }
+
+    @Benchmark
+    public byte[] encodeErrors() throws IOException {
+        return objectMapper.writeValueAsBytes(errors);
+    }
+
+    @Benchmark
+    public List<ItemErrorBody> decodeErrors() throws IOException {
+        return objectMapper.readValue(errorsBytes, new TypeReference<>() {
+        });
+    }
+
+    /**
+     * 형식별 본문 크기(byte). 시간이 아니라 보조 카운터 값을 본다.
+     */
+    @Benchmark
+    public void payloadSize(Payload payload) {
+        payload.formBytes = formBytes.length;
+        payload.errorsBytes = errorsBytes.length;
+    }
+
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class Payload {
+
+        public long formBytes;
+        public long errorsBytes;
+    }
+
+    /**
+     * 클라이언트가 오류 목록을 읽을 때 쓰는 모양. (ItemError는 직렬화 전용이다.)
+     */
+    public static class ItemErrorBody {
+        public String field;
+        public String code;
+        public String message;
+    }
+}
@@ -0,0 +1,46 @@
+package hello.itemservice;
+
+import hello.itemservice.web.admission.AdmissionControl;
+import hello.itemservice.web.admission.AdmissionInterceptor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+/**
+ * item.admission.enabled=true 이면 등록(POST) 엔드포인트에 입장 제어를 건다. (AdmissionControl)
+ * - item.admission.paths : 대상 경로. 기본은 API와 V2~V4의 /add
+ * - item.admission.initial-limit, min-limit, max-limit : 엔드포인트별 동시 처리 한도 (처리 지연을 보고 이 범위에서 조정)
+ * - item.admission.client-rate, client-burst : 클라이언트별 초당 요청 수와 한 번에 몰아서 보낼 수 있는 수
+ * 꺼져 있으면 이 설정이 통째로 빠지므로 요청 처리에 추가 비용이 없다.
+ */
+@Configuration
+@ConditionalOnProperty(name = "item.admission.enabled", havingValue = "true")
+public class AdmissionConfig implements WebMvcConfigurer {
+
+    private final AdmissionControl admissionControl;
+    private final String[] paths;
+
+    public AdmissionConfig(
+            @Value("${item.admission.paths:/validation/api/items/add,/validation/v2/items/add,/validation/v3/items/add,/validation/v4/items/add}") String[] paths,
+            @Value("${item.admission.initial-limit:20}") int initialLimit,
+            @Value("${item.admission.min-limit:2}") int minLimit,
+            @Value("${item.admission.max-limit:200}") int maxLimit,
+            @Value("${item.admission.client-rate:20}") double clientRate,
+            @Value("${item.admission.client-burst:40}") double clientBurst) {
+        this.paths = paths;
+        this.admissionControl = new AdmissionControl(initialLimit, minLimit, maxLimit, clientRate, clientBurst);
+    }
+
+    @Bean
+    public AdmissionControl admissionControl() {
+        return admissionControl;
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(new AdmissionInterceptor(admissionControl)).addPathPatterns(paths);
+    }
+}
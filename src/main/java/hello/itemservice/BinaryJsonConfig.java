@@ -0,0 +1,32 @@
+package hello.itemservice;
+
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+
+/**
+ * 상품 API가 JSON 대신 이진 형식으로도 주고받을 수 있도록 메시지 컨버터를 등록한다.
+ * - application/cbor
+ * - application/x-jackson-smile
+ * 요청은 Content-Type, 응답은 Accept 헤더로 고른다. 헤더가 없으면 지금처럼 JSON이다.
+ *
+ * 스프링 부트가 설정한 Jackson2ObjectMapperBuilder(spring.jackson.*, 모듈)로 만들기 때문에
+ * 필드 이름, 생략 규칙, 직렬화기(ItemError 등)가 JSON과 같다. 형식만 다르고 내용은 같다.
+ */
+@Configuration
+public class BinaryJsonConfig {
+
+    @Bean
+    public MappingJackson2CborHttpMessageConverter cborHttpMessageConverter(Jackson2ObjectMapperBuilder builder) {
+        return new MappingJackson2CborHttpMessageConverter(builder.factory(new CBORFactory()).build());
+    }
+
+    @Bean
+    public MappingJackson2SmileHttpMessageConverter smileHttpMessageConverter(Jackson2ObjectMapperBuilder builder) {
+        return new MappingJackson2SmileHttpMessageConverter(builder.factory(new SmileFactory()).build());
+    }
+}
@@ -1,7 +1,15 @@
 package hello.itemservice;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import hello.itemservice.domain.item.ItemRepository;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ApplicationContext;
+import org.springframework.context.annotation.Bean;
+
+import javax.validation.Validator;
 
 @SpringBootApplication
 public class ItemServiceApplication {
@@ -10,6 +18,20 @@ public class ItemServiceApplication {
 		SpringApplication.run(ItemServiceApplication.class, args);
 	}
 
+	/*
+	 * 기동 워밍업 - item.warm-up.enabled=true 일 때만 등록된다.
+	 * ApplicationRunner는 웹 서버가 뜬 다음, 준비 완료(readiness) 신호 전에 실행되므로
+	 * 트래픽을 받기 전에 검증기, 템플릿, JSON 직렬화기를 미리 준비해 둘 수 있다.
+	 */
+	@Bean
+	@ConditionalOnProperty(name = "item.warm-up.enabled", havingValue = "true")
+	public ItemWarmUp itemWarmUp(Validator validator, ObjectMapper objectMapper,
+								 ItemRepository itemRepository, ApplicationContext context) {
+		return new ItemWarmUp(validator, objectMapper, itemRepository, () ->
+				context instanceof WebServerApplicationContext
+						? ((WebServerApplicationContext) context).getWebServer().getPort() : -1);
+	}
+
 }
 
 
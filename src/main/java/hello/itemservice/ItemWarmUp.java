@@ -0,0 +1,159 @@
+package hello.itemservice;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import hello.itemservice.domain.item.Item;
+import hello.itemservice.domain.item.ItemRepository;
+import hello.itemservice.domain.item.SaveCheck;
+import hello.itemservice.domain.item.UpdateCheck;
+import hello.itemservice.web.validation.ItemError;
+import hello.itemservice.web.validation.ItemPageResponse;
+import hello.itemservice.web.validation.form.ItemSaveForm;
+import hello.itemservice.web.validation.form.ItemUpdateForm;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+
+import javax.validation.Validator;
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.IntSupplier;
+
+/**
+ * 배포 직후 첫 요청이 느리지 않도록, 준비 완료(readiness) 신호 전에 주요 경로를 미리 한 번씩 실행한다.
+ * ApplicationRunner는 웹 서버가 뜬 뒤, 준비 완료 신호 전에 실행된다. (item.warm-up.enabled=true)
+ *
+ * - Bean Validation : ItemSaveForm, ItemUpdateForm, Item(SaveCheck, UpdateCheck)의 메타데이터를 만들고 메시지를 보간해 둔다.
+ * - Jackson : API가 주고받는 타입의 직렬화기/역직렬화기를 만들어 둔다.
+ * - 화면/API : 자기 자신에게 요청을 보내서 v1~v4 템플릿 파싱, 바인딩, 검증 오류 렌더링, JSON 응답까지 한 번 실행한다.
+ *   상품이 저장되거나 수정되지 않도록 조회 요청과 검증에 실패하는 등록 요청만 보낸다.
+ *
+ * 경로마다 첫 요청(cold)과 두 번째 요청(warm)의 시간을 재서 report로 남긴다. 준비 작업이 실패해도 기동은 계속한다.
+ */
+@Slf4j
+public class ItemWarmUp implements ApplicationRunner {
+
+    static final String INVALID_FORM = "itemName=&price=0&quantity=0";
+    static final String INVALID_JSON = "{\"itemName\":\" \",\"price\":0,\"quantity\":10000}";
+    static final String VALID_JSON = "{\"itemName\":\"itemA\",\"price\":10000,\"quantity\":10}";
+
+    private final Validator validator;
+    private final ObjectMapper objectMapper;
+    private final ItemRepository itemRepository;
+    private final IntSupplier port;
+    private final HttpClient httpClient = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(5)).build();
+
+    @Getter
+    private List<Timing> report = Collections.emptyList();
+
+    public ItemWarmUp(Validator validator, ObjectMapper objectMapper, ItemRepository itemRepository, IntSupplier port) {
+        this.validator = validator;
+        this.objectMapper = objectMapper;
+        this.itemRepository = itemRepository;
+        this.port = port;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        long start = System.nanoTime();
+        List<Timing> timings = new ArrayList<>();
+        try {
+            warmUpValidator();
+            warmUpJackson();
+            int serverPort = port.getAsInt();
+            if (serverPort > 0) {
+                warmUpRequests("http://localhost:" + serverPort, timings);
+            }
+        } catch (Exception e) {
+            log.warn("워밍업 실패", e);
+        }
+        report = Collections.unmodifiableList(timings);
+        log.info("워밍업 완료 elapsed={}ms", (System.nanoTime() - start) / 1_000_000);
+        for (Timing timing : report) {
+            log.info("워밍업 {} {} status={} cold={}us warm={}us",
+                    timing.getMethod(), timing.getPath(), timing.getStatus(), timing.getColdMicros(), timing.getWarmMicros());
+        }
+    }
+
+    private void warmUpValidator() {
+        ItemSaveForm saveForm = new ItemSaveForm();
+        saveForm.setItemName(" ");
+        saveForm.setPrice(0);
+        saveForm.setQuantity(10000);
+        validator.validate(saveForm);
+        validator.validate(new ItemUpdateForm());
+
+        Item item = new Item(" ", 0, 10000);
+        validator.validate(item, SaveCheck.class);
+        validator.validate(item, UpdateCheck.class);
+    }
+
+    private void warmUpJackson() throws IOException {
+        objectMapper.writeValueAsBytes(new ItemPageResponse(itemRepository.findPage(0, 20)));
+        objectMapper.writeValueAsBytes(objectMapper.readValue(VALID_JSON, ItemSaveForm.class));
+        objectMapper.writeValueAsBytes(List.of(new ItemError("price", "Range", "")));
+    }
+
+    private void warmUpRequests(String baseUrl, List<Timing> timings) throws IOException, InterruptedException {
+        List<Item> items = itemRepository.findPage(0, 1).getItems();
+        for (String version : new String[]{"v1", "v2", "v3", "v4"}) {
+            String path = "/validation/" + version + "/items";
+            timings.add(time(baseUrl, "GET", path, null, null));
+            timings.add(time(baseUrl, "GET", path + "/add", null, null));
+            timings.add(time(baseUrl, "POST", path + "/add", "application/x-www-form-urlencoded", INVALID_FORM));
+            if (!items.isEmpty()) {
+                timings.add(time(baseUrl, "GET", path + "/" + items.get(0).getId(), null, null));
+                timings.add(time(baseUrl, "GET", path + "/" + items.get(0).getId() + "/edit", null, null));
+            }
+        }
+        timings.add(time(baseUrl, "GET", "/validation/api/items", null, null));
+        timings.add(time(baseUrl, "POST", "/validation/api/items/add", "application/json", INVALID_JSON));
+        // API 등록은 검증을 통과해도 저장하지 않고 폼을 그대로 돌려준다.
+        timings.add(time(baseUrl, "POST", "/validation/api/items/add", "application/json", VALID_JSON));
+    }
+
+    private Timing time(String baseUrl, String method, String path, String contentType, String body)
+            throws IOException, InterruptedException {
+        HttpRequest.Builder builder = HttpRequest.newBuilder(URI.create(baseUrl + path)).timeout(Duration.ofSeconds(30));
+        if (body == null) {
+            builder.GET();
+        } else {
+            builder.header("Content-Type", contentType).POST(HttpRequest.BodyPublishers.ofString(body));
+        }
+        HttpRequest request = builder.build();
+
+        long start = System.nanoTime();
+        int status = httpClient.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+        long cold = System.nanoTime() - start;
+
+        start = System.nanoTime();
+        httpClient.send(request, HttpResponse.BodyHandlers.discarding());
+        long warm = System.nanoTime() - start;
+        return new Timing(method, path, status, cold / 1000, warm / 1000);
+    }
+
+    @Getter
+    public static class Timing {
+
+        private final String method;
+        private final String path;
+        private final int status;
+        private final long coldMicros;
+        private final long warmMicros;
+
+        Timing(String method, String path, int status, long coldMicros, long warmMicros) {
+            this.method = method;
+            this.path = path;
+            this.status = status;
+            this.coldMicros = coldMicros;
+            this.warmMicros = warmMicros;
+        }
+    }
+}
@@ -0,0 +1,41 @@
+package hello.itemservice;
+
+import hello.itemservice.message.PrecompiledMessageSource;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.util.StringUtils;
+
+import java.nio.charset.Charset;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.stream.Collectors;
+
+/**
+ * item.messages.precompiled=true 이면 스프링 부트의 ResourceBundleMessageSource 대신
+ * PrecompiledMessageSource를 messageSource로 등록한다. 메시지 파일 설정(spring.messages.*)은 그대로 쓴다.
+ */
+@Configuration
+@ConditionalOnProperty(name = "item.messages.precompiled", havingValue = "true")
+public class MessageConfig {
+
+    @Bean
+    public PrecompiledMessageSource messageSource(
+            @Value("${spring.messages.basename:messages}") String basename,
+            @Value("${spring.messages.encoding:UTF-8}") Charset encoding,
+            @Value("${spring.messages.fallback-to-system-locale:true}") boolean fallbackToSystemLocale,
+            @Value("${item.messages.locales:ko,en}") String locales) {
+        return new PrecompiledMessageSource(split(basename), encoding,
+                split(locales).stream().map(Locale::forLanguageTag).collect(Collectors.toList()),
+                fallbackToSystemLocale);
+    }
+
+    private static List<String> split(String value) {
+        return Arrays.stream(StringUtils.commaDelimitedListToStringArray(value))
+                .map(String::trim)
+                .filter(StringUtils::hasText)
+                .collect(Collectors.toList());
+    }
+}
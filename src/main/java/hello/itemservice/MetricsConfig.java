@@ -0,0 +1,54 @@
+package hello.itemservice;
+
+import hello.itemservice.web.validation.metrics.MeteredDataBinderFactory;
+import hello.itemservice.web.validation.metrics.ValidationMetrics;
+import hello.itemservice.web.validation.metrics.ValidationMetricsInterceptor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.web.servlet.WebMvcRegistrations;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.method.annotation.InitBinderDataBinderFactory;
+import org.springframework.web.method.support.InvocableHandlerMethod;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+import org.springframework.web.servlet.mvc.method.annotation.RequestMappingHandlerAdapter;
+
+import java.util.List;
+
+/**
+ * item.validation.metrics.enabled=true 이면 검증 지표를 모은다. (GET /validation/metrics)
+ * - RequestMappingHandlerAdapter가 MeteredDataBinderFactory로 binder를 만들어서 bind/validate 시간을 잰다.
+ * - ValidationMetricsInterceptor가 요청이 끝날 때 오류 코드를 센다.
+ * 꺼져 있으면 이 설정이 통째로 빠지므로 요청 처리에 추가 비용이 없다.
+ */
+@Configuration
+@ConditionalOnProperty(name = "item.validation.metrics.enabled", havingValue = "true")
+public class MetricsConfig implements WebMvcConfigurer {
+
+    private final ValidationMetrics validationMetrics = new ValidationMetrics();
+
+    @Bean
+    public ValidationMetrics validationMetrics() {
+        return validationMetrics;
+    }
+
+    @Bean
+    public WebMvcRegistrations meteredWebMvcRegistrations() {
+        return new WebMvcRegistrations() {
+            @Override
+            public RequestMappingHandlerAdapter getRequestMappingHandlerAdapter() {
+                return new RequestMappingHandlerAdapter() {
+                    @Override
+                    protected InitBinderDataBinderFactory createDataBinderFactory(List<InvocableHandlerMethod> binderMethods) {
+                        return new MeteredDataBinderFactory(binderMethods, getWebBindingInitializer(), validationMetrics);
+                    }
+                };
+            }
+        };
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(new ValidationMetricsInterceptor(validationMetrics));
+    }
+}
@@ -0,0 +1,41 @@
+package hello.itemservice;
+
+import hello.itemservice.domain.item.ItemRepository;
+import hello.itemservice.web.validation.CachingMessageCodesResolver;
+import hello.itemservice.web.validation.FailFastValidation;
+import hello.itemservice.web.validation.ItemBulkLoader;
+import hello.itemservice.web.validation.ReactiveItemApiController;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.autoconfigure.EnableAutoConfiguration;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Import;
+
+/**
+ * 상품 API(/validation/api/items)만 WebFlux로 Netty에서 실행한다. 화면(V1~V4)은 없다.
+ * 톰캣 요청 스레드 대신 소수의 이벤트 루프 스레드가 많은 동시 연결을 처리한다.
+ * ./gradlew bootRunReactive
+ *
+ * ItemServiceApplication의 컴포넌트 스캔에도 걸리지만, 리액티브 웹 애플리케이션일 때만 등록되므로 서블릿 실행에는 영향이 없다.
+ * 설정(application.properties)은 같이 쓴다.
+ */
+@Configuration
+@EnableAutoConfiguration
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+@Import({ItemRepository.class, ItemBulkLoader.class, FailFastValidation.class, MessageConfig.class,
+        ReactiveItemApiController.class})
+public class ReactiveItemApiApplication {
+
+    public static void main(String[] args) {
+        new SpringApplicationBuilder(ReactiveItemApiApplication.class)
+                .web(WebApplicationType.REACTIVE)
+                .run(args);
+    }
+
+    @Bean
+    public CachingMessageCodesResolver messageCodesResolver() {
+        return new CachingMessageCodesResolver();
+    }
+}
@@ -0,0 +1,49 @@
+package hello.itemservice;
+
+import hello.itemservice.web.asset.StaticAssetHandler;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.ApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.web.servlet.handler.SimpleUrlHandlerMapping;
+import org.springframework.web.servlet.resource.ResourceUrlEncodingFilter;
+
+import javax.servlet.DispatcherType;
+import javax.servlet.ServletContext;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * static/css, static/js 를 StaticAssetHandler로 서비스한다. (지문 경로, 미리 압축한 파일, immutable 캐시)
+ * 스프링 부트의 기본 정적 파일 핸들러(/**)보다 먼저 매핑된다.
+ * ResourceUrlEncodingFilter는 템플릿이 만드는 링크(@{/css/...})를 지문 경로로 바꾼다.
+ */
+@Configuration
+public class StaticAssetConfig {
+
+    static final List<String> DIRECTORIES = List.of("css", "js");
+
+    @Bean
+    public SimpleUrlHandlerMapping staticAssetHandlerMapping(ApplicationContext applicationContext,
+                                                             ServletContext servletContext) throws Exception {
+        Map<String, Object> urlMap = new LinkedHashMap<>();
+        for (String directory : DIRECTORIES) {
+            StaticAssetHandler handler = new StaticAssetHandler("static/" + directory + "/");
+            handler.setServletContext(servletContext);
+            handler.setApplicationContext(applicationContext);
+            handler.afterPropertiesSet();
+            urlMap.put("/" + directory + "/**", handler);
+        }
+        return new SimpleUrlHandlerMapping(urlMap, Ordered.LOWEST_PRECEDENCE - 10);
+    }
+
+    @Bean
+    public FilterRegistrationBean<ResourceUrlEncodingFilter> resourceUrlEncodingFilter() {
+        FilterRegistrationBean<ResourceUrlEncodingFilter> registration =
+                new FilterRegistrationBean<>(new ResourceUrlEncodingFilter());
+        registration.setDispatcherTypes(DispatcherType.REQUEST, DispatcherType.ERROR);
+        return registration;
+    }
+}
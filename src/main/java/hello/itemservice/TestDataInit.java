@@ -14,10 +14,13 @@ public class TestDataInit {
     private final ItemRepository itemRepository;
 
     /**
-     * 테스트용 데이터 추가
+     * 테스트용 데이터 추가 (WAL에서 복구한 상품이 있으면 추가하지 않는다.)
      */
     @PostConstruct
     public void init() {
+        if (itemRepository.count() > 0) {
+            return;
+        }
         itemRepository.save(new Item("itemA", 10000, 10));
         itemRepository.save(new Item("itemB", 20000, 20));
     }
@@ -0,0 +1,59 @@
+package hello.itemservice;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.embedded.tomcat.TomcatProtocolHandlerCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.annotation.PreDestroy;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * item.virtual-threads.enabled=true 이면 톰캣이 요청을 스레드 풀(server.tomcat.threads.max, 기본 200개) 대신
+ * 요청마다 새 가상 스레드에서 처리한다. V1~V4 컨트롤러와 API 컨트롤러가 모두 가상 스레드에서 실행된다.
+ * 느린 클라이언트가 많아도 스레드가 모자라서 요청이 줄을 서지 않는다. 동시 연결 수는 server.tomcat.max-connections로 제한한다.
+ *
+ * 가상 스레드는 Java 21 이상에서만 동작한다. 소스는 Java 11로 컴파일하므로 실행기는 리플렉션으로 만들고,
+ * 더 낮은 버전에서 켜면 기동할 때 실패한다. Java 21로 실행하려면 ./gradlew bootRunVirtualThreads
+ */
+@Slf4j
+@Configuration
+@ConditionalOnProperty(name = "item.virtual-threads.enabled", havingValue = "true")
+public class VirtualThreadConfig {
+
+    // 빈으로 등록하면 스프링 부트의 applicationTaskExecutor가 빠지므로 설정 안에만 둔다.
+    private final ExecutorService executor = newVirtualThreadPerTaskExecutor();
+
+    @Bean
+    public TomcatProtocolHandlerCustomizer<?> virtualThreadProtocolHandlerCustomizer() {
+        return protocolHandler -> protocolHandler.setExecutor(executor);
+    }
+
+    // 톰캣은 밖에서 넣어 준 실행기를 닫지 않는다.
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdown();
+    }
+
+    private static ExecutorService newVirtualThreadPerTaskExecutor() {
+        MethodHandle factory;
+        try {
+            factory = MethodHandles.publicLookup().findStatic(Executors.class, "newVirtualThreadPerTaskExecutor",
+                    MethodType.methodType(ExecutorService.class));
+        } catch (NoSuchMethodException | IllegalAccessException e) {
+            throw new IllegalStateException("item.virtual-threads.enabled=true 는 Java 21 이상이 필요합니다. 현재 "
+                    + Runtime.version(), e);
+        }
+        try {
+            log.info("가상 스레드로 요청을 처리합니다. java={}", Runtime.version());
+            return (ExecutorService) factory.invokeExact();
+        } catch (Throwable e) {
+            throw new IllegalStateException("가상 스레드 실행기 생성 실패", e);
+        }
+    }
+}
@@ -0,0 +1,41 @@
+package hello.itemservice;
+
+import hello.itemservice.validation.ExpressionMinValidatorAdapter;
+import hello.itemservice.web.validation.CachingMessageCodesResolver;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.validation.MessageCodesResolver;
+import org.springframework.validation.Validator;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+/**
+ * 모든 WebDataBinder가 같은 CachingMessageCodesResolver를 쓰도록 글로벌로 등록한다.
+ * 컨트롤러 밖에서 직접 만드는 BindingResult(대량 등록 등)도 이 빈을 주입받아 쓴다.
+ *
+ * 글로벌 검증기(@Validated)는 스프링 부트가 만든 Bean Validation 검증기를 ExpressionMinValidatorAdapter로 감싼 것이다.
+ * @ExpressionMin 위반이 제약 이름(ExpressionMin)이 아니라 규칙의 code(totalPriceMin 등)로 남는다.
+ */
+@Configuration
+public class WebConfig implements WebMvcConfigurer {
+
+    private final javax.validation.Validator validator;
+
+    public WebConfig(javax.validation.Validator validator) {
+        this.validator = validator;
+    }
+
+    @Bean
+    public CachingMessageCodesResolver messageCodesResolver() {
+        return new CachingMessageCodesResolver();
+    }
+
+    @Override
+    public MessageCodesResolver getMessageCodesResolver() {
+        return messageCodesResolver();
+    }
+
+    @Override
+    public Validator getValidator() {
+        return new ExpressionMinValidatorAdapter(validator);
+    }
+}
@@ -0,0 +1,316 @@
+package hello.itemservice.domain.item;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * 컬럼 저장소. 상품을 객체로 보관하지 않고 필드별 기본형 배열(컬럼)에 나누어 보관한다.
+ * - id/version/lastModified/price/quantity => long[]/int[] (박싱, 객체 헤더 없음)
+ * - itemName => 하나의 byte[] 영역에 UTF-8로 이어 붙이고 offset/length만 보관
+ * - null 여부 => 행마다 1 byte 플래그
+ * Item 객체는 get()/findAll()로 꺼낼 때만 새로 만든다. 꺼낸 객체를 수정해도 저장소에는 반영되지 않는다.
+ *
+ * 행은 id 오름차순으로 유지하고 id로 이진 탐색한다. (id는 증가하므로 보통은 끝에 추가된다.)
+ * 이름을 더 긴 값으로 수정하면 이전 바이트는 영역에 남는다. (압축은 하지 않는다.)
+ */
+class ColumnarItemStore implements ItemStore {
+
+    private static final int INITIAL_CAPACITY = 1024;
+    private static final byte NULL_NAME = 1;
+    private static final byte NULL_PRICE = 1 << 1;
+    private static final byte NULL_QUANTITY = 1 << 2;
+    private static final byte NULL_VERSION = 1 << 3;
+    private static final byte NULL_LAST_MODIFIED = 1 << 4;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private long[] ids;
+    private long[] versions;
+    private long[] lastModifieds;
+    private int[] prices;
+    private int[] quantities;
+    private byte[] nulls;
+    private int[] nameOffsets;
+    private int[] nameLengths;
+    private byte[] names;
+    private int namesSize;
+    private int size;
+
+    ColumnarItemStore() {
+        init();
+    }
+
+    @Override
+    public void put(Item item) {
+        lock.writeLock().lock();
+        try {
+            int row = indexOf(item.getId());
+            if (row < 0) {
+                row = insertRow(-row - 1, item.getId());
+            }
+            writeRow(row, item);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void putAll(List<Item> items) {
+        lock.writeLock().lock();
+        try {
+            for (Item item : items) {
+                int row = indexOf(item.getId());
+                if (row < 0) {
+                    row = insertRow(-row - 1, item.getId());
+                }
+                writeRow(row, item);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public boolean compareAndSet(Item expect, Item update) {
+        lock.writeLock().lock();
+        try {
+            int row = indexOf(update.getId());
+            if (row < 0 || !sameVersion(row, expect.getVersion())) {
+                return false;
+            }
+            writeRow(row, update);
+            return true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public boolean remove(Item expect) {
+        lock.writeLock().lock();
+        try {
+            int row = indexOf(expect.getId());
+            if (row < 0 || !sameVersion(row, expect.getVersion())) {
+                return false;
+            }
+            removeRow(row);
+            return true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public Item get(long id) {
+        lock.readLock().lock();
+        try {
+            int row = indexOf(id);
+            return row < 0 ? null : readRow(row);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public List<Item> findAll() {
+        lock.readLock().lock();
+        try {
+            return readRows(0, size);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public List<Item> findRange(int offset, int limit) {
+        lock.readLock().lock();
+        try {
+            return readRows(Math.min(offset, size), limit);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public List<Item> findAfter(long afterId, int limit) {
+        lock.readLock().lock();
+        try {
+            int row = indexOf(afterId);
+            return readRows(row < 0 ? -row - 1 : row + 1, limit);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return size;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public void clear() {
+        lock.writeLock().lock();
+        try {
+            init();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void init() {
+        ids = new long[INITIAL_CAPACITY];
+        versions = new long[INITIAL_CAPACITY];
+        lastModifieds = new long[INITIAL_CAPACITY];
+        prices = new int[INITIAL_CAPACITY];
+        quantities = new int[INITIAL_CAPACITY];
+        nulls = new byte[INITIAL_CAPACITY];
+        nameOffsets = new int[INITIAL_CAPACITY];
+        nameLengths = new int[INITIAL_CAPACITY];
+        names = new byte[INITIAL_CAPACITY * 16];
+        namesSize = 0;
+        size = 0;
+    }
+
+    // 버전이 없는(null) 행은 기대값도 null일 때만 같다고 본다.
+    private boolean sameVersion(int row, Long version) {
+        boolean nullVersion = (nulls[row] & NULL_VERSION) != 0;
+        if (version == null) {
+            return nullVersion;
+        }
+        return !nullVersion && versions[row] == version;
+    }
+
+    private int indexOf(long id) {
+        return Arrays.binarySearch(ids, 0, size, id);
+    }
+
+    private int insertRow(int row, long id) {
+        if (size == ids.length) {
+            int capacity = ids.length * 2;
+            ids = Arrays.copyOf(ids, capacity);
+            versions = Arrays.copyOf(versions, capacity);
+            lastModifieds = Arrays.copyOf(lastModifieds, capacity);
+            prices = Arrays.copyOf(prices, capacity);
+            quantities = Arrays.copyOf(quantities, capacity);
+            nulls = Arrays.copyOf(nulls, capacity);
+            nameOffsets = Arrays.copyOf(nameOffsets, capacity);
+            nameLengths = Arrays.copyOf(nameLengths, capacity);
+        }
+        int moved = size - row;
+        if (moved > 0) {
+            System.arraycopy(ids, row, ids, row + 1, moved);
+            System.arraycopy(versions, row, versions, row + 1, moved);
+            System.arraycopy(lastModifieds, row, lastModifieds, row + 1, moved);
+            System.arraycopy(prices, row, prices, row + 1, moved);
+            System.arraycopy(quantities, row, quantities, row + 1, moved);
+            System.arraycopy(nulls, row, nulls, row + 1, moved);
+            System.arraycopy(nameOffsets, row, nameOffsets, row + 1, moved);
+            System.arraycopy(nameLengths, row, nameLengths, row + 1, moved);
+        }
+        ids[row] = id;
+        nameLengths[row] = 0;
+        size++;
+        return row;
+    }
+
+    // 지운 행의 이름 바이트는 영역에 남는다.
+    private void removeRow(int row) {
+        int moved = size - row - 1;
+        if (moved > 0) {
+            System.arraycopy(ids, row + 1, ids, row, moved);
+            System.arraycopy(versions, row + 1, versions, row, moved);
+            System.arraycopy(lastModifieds, row + 1, lastModifieds, row, moved);
+            System.arraycopy(prices, row + 1, prices, row, moved);
+            System.arraycopy(quantities, row + 1, quantities, row, moved);
+            System.arraycopy(nulls, row + 1, nulls, row, moved);
+            System.arraycopy(nameOffsets, row + 1, nameOffsets, row, moved);
+            System.arraycopy(nameLengths, row + 1, nameLengths, row, moved);
+        }
+        size--;
+    }
+
+    private void writeRow(int row, Item item) {
+        byte flags = 0;
+        if (item.getItemName() == null) {
+            flags |= NULL_NAME;
+            nameLengths[row] = 0;
+        } else {
+            writeName(row, item.getItemName().getBytes(StandardCharsets.UTF_8));
+        }
+        if (item.getPrice() == null) {
+            flags |= NULL_PRICE;
+        } else {
+            prices[row] = item.getPrice();
+        }
+        if (item.getQuantity() == null) {
+            flags |= NULL_QUANTITY;
+        } else {
+            quantities[row] = item.getQuantity();
+        }
+        if (item.getVersion() == null) {
+            flags |= NULL_VERSION;
+        } else {
+            versions[row] = item.getVersion();
+        }
+        if (item.getLastModified() == null) {
+            flags |= NULL_LAST_MODIFIED;
+        } else {
+            lastModifieds[row] = item.getLastModified();
+        }
+        nulls[row] = flags;
+    }
+
+    private void writeName(int row, byte[] bytes) {
+        // 기존 자리에 들어가면 덮어쓰고, 아니면 영역 끝에 새로 붙인다.
+        if (bytes.length > nameLengths[row]) {
+            if (namesSize + bytes.length > names.length) {
+                names = Arrays.copyOf(names, Math.max(names.length * 2, namesSize + bytes.length));
+            }
+            nameOffsets[row] = namesSize;
+            namesSize += bytes.length;
+        }
+        System.arraycopy(bytes, 0, names, nameOffsets[row], bytes.length);
+        nameLengths[row] = bytes.length;
+    }
+
+    private List<Item> readRows(int from, int limit) {
+        int to = (int) Math.min((long) from + limit, size);
+        List<Item> items = new ArrayList<>(Math.max(to - from, 0));
+        for (int row = from; row < to; row++) {
+            items.add(readRow(row));
+        }
+        return Collections.unmodifiableList(items);
+    }
+
+    private Item readRow(int row) {
+        byte flags = nulls[row];
+        Item item = new Item();
+        item.setId(ids[row]);
+        if ((flags & NULL_NAME) == 0) {
+            item.setItemName(new String(names, nameOffsets[row], nameLengths[row], StandardCharsets.UTF_8));
+        }
+        if ((flags & NULL_PRICE) == 0) {
+            item.setPrice(prices[row]);
+        }
+        if ((flags & NULL_QUANTITY) == 0) {
+            item.setQuantity(quantities[row]);
+        }
+        if ((flags & NULL_VERSION) == 0) {
+            item.setVersion(versions[row]);
+        }
+        if ((flags & NULL_LAST_MODIFIED) == 0) {
+            item.setLastModified(lastModifieds[row]);
+        }
+        return item;
+    }
+
+}
@@ -1,14 +1,18 @@
 package hello.itemservice.domain.item;
 
+import hello.itemservice.validation.ExpressionMin;
 import lombok.Data;
 import org.hibernate.validator.constraints.Range;
-import org.hibernate.validator.constraints.ScriptAssert;
 
 import javax.validation.constraints.Max;
 import javax.validation.constraints.NotBlank;
 import javax.validation.constraints.NotNull;
+import javax.validation.groups.Default;
 
 @Data
+// 그룹을 지정한 검증(@Validated(SaveCheck.class) 등)에서도 검사한다.
+@ExpressionMin(code = "totalPriceMin", expression = "price * quantity", min = 10000,
+        groups = {Default.class, SaveCheck.class, UpdateCheck.class})
 public class Item {
 
 //    @NotNull(groups = UpdateCheck.class) // 수정시에만 적용
@@ -25,6 +29,12 @@ public class Item {
 //    @Max(value = 9999, groups = SaveCheck.class) // 등록시에만 적용
     private Integer quantity;
 
+    // 저장할 때 1부터 시작해서 수정할 때마다 1씩 증가한다. (동시 수정 충돌 감지용)
+    private Long version;
+
+    // 마지막으로 저장/수정한 시각(epoch millis). 조건부 GET의 Last-Modified에 쓴다.
+    private Long lastModified;
+
     public Item() {
     }
 
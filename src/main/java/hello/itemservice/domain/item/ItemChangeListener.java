@@ -0,0 +1,18 @@
+package hello.itemservice.domain.item;
+
+/**
+ * 저장소의 변경 알림. ItemRepository.addChangeListener()로 등록한다.
+ * 저장소에 쓴 다음, 같은 스레드에서 바로 호출되므로 가볍게 처리해야 한다.
+ */
+public interface ItemChangeListener {
+
+    /**
+     * 상품이 저장(save/saveAll)되거나 수정(update)되었다.
+     */
+    void itemChanged(long itemId);
+
+    /**
+     * 저장소가 통째로 비워졌다. (clearStore)
+     */
+    void allChanged();
+}
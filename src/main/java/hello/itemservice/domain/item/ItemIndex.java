@@ -0,0 +1,72 @@
+package hello.itemservice.domain.item;
+
+import java.util.NavigableSet;
+import java.util.concurrent.ConcurrentSkipListSet;
+
+/**
+ * 상품 필드 하나(price, quantity)에 대한 정렬된 보조 인덱스.
+ * (값, id) 쌍을 정렬해서 보관하므로 범위 조회는 시작 위치를 찾는 O(log n) + 결과 k개만 읽는다.
+ * null 값은 인덱스에 넣지 않는다.
+ */
+class ItemIndex {
+
+    private final ConcurrentSkipListSet<Entry> entries = new ConcurrentSkipListSet<>();
+
+    void add(Integer value, long id) {
+        if (value != null) {
+            entries.add(new Entry(value, id));
+        }
+    }
+
+    void remove(Integer value, long id) {
+        if (value != null) {
+            entries.remove(new Entry(value, id));
+        }
+    }
+
+    /**
+     * min 이상 max 이하인 값을 가진 항목을 값, id 순서로 반환한다.
+     */
+    NavigableSet<Entry> range(int min, int max) {
+        if (min > max) {
+            return new ConcurrentSkipListSet<>();
+        }
+        return entries.subSet(new Entry(min, Long.MIN_VALUE), true, new Entry(max, Long.MAX_VALUE), true);
+    }
+
+    void clear() {
+        entries.clear();
+    }
+
+    static final class Entry implements Comparable<Entry> {
+
+        final int value;
+        final long id;
+
+        Entry(int value, long id) {
+            this.value = value;
+            this.id = id;
+        }
+
+        @Override
+        public int compareTo(Entry other) {
+            int result = Integer.compare(value, other.value);
+            return result != 0 ? result : Long.compare(id, other.id);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (!(o instanceof Entry)) {
+                return false;
+            }
+            Entry other = (Entry) o;
+            return value == other.value && id == other.id;
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * value + Long.hashCode(id);
+        }
+    }
+
+}
@@ -0,0 +1,40 @@
+package hello.itemservice.domain.item;
+
+import java.util.List;
+
+/**
+ * 상품 목록의 한 페이지. 다음 페이지가 있는지 알기 위해 요청한 개수보다 하나 더 조회해서 만든다.
+ */
+public class ItemPage {
+
+    private final List<Item> items;
+    private final boolean hasNext;
+
+    private ItemPage(List<Item> items, boolean hasNext) {
+        this.items = items;
+        this.hasNext = hasNext;
+    }
+
+    static ItemPage of(List<Item> fetched, int size) {
+        if (fetched.size() > size) {
+            return new ItemPage(fetched.subList(0, size), true);
+        }
+        return new ItemPage(fetched, false);
+    }
+
+    public List<Item> getItems() {
+        return items;
+    }
+
+    public boolean hasNext() {
+        return hasNext;
+    }
+
+    /**
+     * 다음 페이지를 조회할 때 기준이 되는 마지막 상품 id. 비어 있으면 null
+     */
+    public Long getLastId() {
+        return items.isEmpty() ? null : items.get(items.size() - 1).getId();
+    }
+
+}
@@ -1,41 +1,378 @@
 package hello.itemservice.domain.item;
 
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Repository;
+import org.springframework.util.StringUtils;
 
+import javax.annotation.PreDestroy;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Paths;
 import java.util.ArrayList;
-import java.util.HashMap;
 import java.util.List;
-import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.function.Supplier;
 
 @Repository
 public class ItemRepository {
 
-    private static final Map<Long, Item> store = new HashMap<>(); //static
-    private static long sequence = 0L; //static
+    /*
+     * 여러 컨트롤러(V1~V4, API)에서 동시에 save/update가 들어와도 안전하도록 동시성 자료구조를 사용한다.
+     * - store : 실제 보관은 저장 방식(Storage)에 따라 MapItemStore 또는 ColumnarItemStore가 담당한다.
+     * - sequence : AtomicLong => 동시에 저장해도 id가 중복되지 않는다.
+     *
+     * 저장 방식은 application.properties의 item.repository.storage로 정한다. (기본값 MAP)
+     * - MAP : 상품 객체를 그대로 보관한다. findAll()은 쓰기 이후 읽을 때 락 없이 다시 만든 스냅샷을 반환한다.
+     * - COLUMNAR : id/price/quantity를 기본형 배열에 보관한다. 상품이 수백만 개일 때 힙을 훨씬 적게 쓴다.
+     *
+     * 수정은 버전(version)을 비교하는 compare-and-set으로 한다. 충돌 검사에는 락을 쓰지 않으므로
+     * 인기 상품에 수정이 몰려도 다른 상품의 수정이 막히지 않는다.
+     * - update(itemId, param) : 충돌하면 최신 값을 다시 읽어서 재시도한다. (마지막 수정이 이긴다.)
+     * - update(itemId, param, expectedVersion) : 버전이 다르면 false를 반환한다. (If-Match)
+     *
+     * price, quantity는 정렬된 보조 인덱스(ItemIndex)를 따로 두고 save/update 때 함께 갱신한다.
+     * 인덱스 정리는 id로 나눈 줄무늬 락(indexLocks) 안에서 저장소의 현재 값에 맞추는 방식이라
+     * 수정 순서와 정리 순서가 뒤바뀌어도 인덱스가 어긋나지 않는다.
+     *
+     * item.repository.wal.dir을 지정하면 모든 save/update를 선행 기록 로그(ItemWriteAheadLog)에 남기고,
+     * 시작할 때 로그를 재생해서 재시작 전 상태를 복구한다. 저장소에 먼저 쓰고 로그에 남긴 뒤,
+     * 그룹 커밋으로 디스크에 내려갈 때까지 기다렸다가 반환한다. 복구할 때는 id별로 버전이 가장 큰 값을 쓴다.
+     * 로그에 남기거나 내리다가 실패하면 저장소와 인덱스를 이전 값으로 되돌린 뒤 예외를 던진다. (메모리와 디스크가 어긋나지 않게)
+     *
+     * 조건부 GET을 위해 변경 스탬프를 둔다.
+     * - 상품별 : version과 lastModified(저장/수정 시각)
+     * - 목록 전체 : changeStamp와 lastModified. 저장소에 쓴 다음에 올리므로, 스탬프가 같으면 목록도 같다.
+     *
+     * 저장, 수정, 전체 삭제는 등록된 ItemChangeListener(목록 행 캐시 등)에 알린다.
+     */
+    public enum Storage {
+        MAP, COLUMNAR
+    }
+
+    private final ItemStore store;
+    private final AtomicLong sequence = new AtomicLong();
+    private final ItemIndex priceIndex = new ItemIndex();
+    private final ItemIndex quantityIndex = new ItemIndex();
+    private final Object[] indexLocks = new Object[64];
+    private final ItemWriteAheadLog wal;
+    // 재시작 전에 발급한 값과 겹치지 않도록 시작 시각에서 출발한다.
+    private final AtomicLong changeStamp = new AtomicLong(System.currentTimeMillis() << 20);
+    private final AtomicLong lastModified = new AtomicLong(System.currentTimeMillis());
+    private final List<ItemChangeListener> changeListeners = new CopyOnWriteArrayList<>();
+
+    public ItemRepository() {
+        this(Storage.MAP);
+    }
+
+    public ItemRepository(Storage storage) {
+        this(storage, null, 0, 0);
+    }
+
+    @Autowired
+    public ItemRepository(@Value("${item.repository.storage:MAP}") Storage storage,
+                          @Value("${item.repository.wal.dir:}") String walDir,
+                          @Value("${item.repository.wal.segment-size:67108864}") int segmentSize,
+                          @Value("${item.repository.wal.segments-per-snapshot:4}") int segmentsPerSnapshot) {
+        this(storage, !StringUtils.hasText(walDir) ? null : snapshotSource ->
+                new ItemWriteAheadLog(Paths.get(walDir), segmentSize, segmentsPerSnapshot, snapshotSource));
+    }
+
+    /**
+     * WAL을 직접 만들어 넣는다. walFactory가 null이면 WAL을 쓰지 않는다. (테스트에서 디스크 오류를 흉내 낼 때 사용한다.)
+     */
+    ItemRepository(Storage storage, Function<Supplier<List<Item>>, ItemWriteAheadLog> walFactory) {
+        this.store = storage == Storage.COLUMNAR ? new ColumnarItemStore() : new MapItemStore();
+        for (int i = 0; i < indexLocks.length; i++) {
+            indexLocks[i] = new Object();
+        }
+
+        if (walFactory == null) {
+            this.wal = null;
+            return;
+        }
+        this.wal = walFactory.apply(store::findAll);
+        try {
+            load(wal.recover());
+            wal.start();
+        } catch (IOException e) {
+            throw new UncheckedIOException("WAL 복구 실패 dir=" + wal.getDir(), e);
+        }
+    }
 
     public Item save(Item item) {
-        item.setId(++sequence);
-        store.put(item.getId(), item);
+        item.setId(sequence.incrementAndGet());
+        item.setVersion(1L);
+        item.setLastModified(System.currentTimeMillis());
+        store.put(item);
+        touch(item.getLastModified());
+        reindex(item.getId(), null);
+        changed(item.getId());
+        try {
+            sync(log(item));
+        } catch (RuntimeException e) {
+            rollback(item, null);
+            throw e;
+        }
         return item;
     }
 
+    /**
+     * 여러 상품을 한 번에 저장한다. WAL 대기를 상품마다 하지 않고 한 번만 한다.
+     */
+    public List<Item> saveAll(List<Item> items) {
+        if (items.isEmpty()) {
+            return items;
+        }
+        long now = System.currentTimeMillis();
+        for (Item item : items) {
+            item.setId(sequence.incrementAndGet());
+            item.setVersion(1L);
+            item.setLastModified(now);
+        }
+        store.putAll(items);
+        touch(now);
+        for (Item item : items) {
+            reindex(item.getId(), null);
+            changed(item.getId());
+        }
+        try {
+            long ticket = 0;
+            for (Item item : items) {
+                ticket = log(item);
+            }
+            sync(ticket);
+        } catch (RuntimeException e) {
+            for (Item item : items) {
+                rollback(item, null);
+            }
+            throw e;
+        }
+        return items;
+    }
+
     public Item findById(Long id) {
         return store.get(id);
     }
 
+    /**
+     * 읽기 전용 목록을 id 순서로 반환한다. 반환된 리스트는 수정할 수 없다.
+     */
     public List<Item> findAll() {
-        return new ArrayList<>(store.values());
+        return store.findAll();
+    }
+
+    public int count() {
+        return store.size();
+    }
+
+    /**
+     * 목록 전체의 변경 스탬프. 저장, 수정, 삭제가 있을 때마다 커진다.
+     */
+    public long getChangeStamp() {
+        return changeStamp.get();
+    }
+
+    /**
+     * 목록 전체의 마지막 변경 시각(epoch millis).
+     */
+    public long getLastModified() {
+        return lastModified.get();
+    }
+
+    /**
+     * page번째(0부터) 페이지를 id 순서로 조회한다. 요청한 구간만 읽는다.
+     */
+    public ItemPage findPage(int page, int size) {
+        long offset = (long) page * size;
+        if (offset > Integer.MAX_VALUE) {
+            return ItemPage.of(List.of(), size);
+        }
+        return ItemPage.of(store.findRange((int) offset, size + 1), size);
+    }
+
+    /**
+     * afterId 다음 상품부터 id 순서로 조회한다. 중간에 상품이 추가되어도 페이지가 밀리지 않는다.
+     */
+    public ItemPage findAfter(long afterId, int size) {
+        return ItemPage.of(store.findAfter(afterId, size + 1), size);
+    }
+
+    /**
+     * 가격, 수량 범위로 검색한다. 조건이 있는 필드의 인덱스를 범위 조회하고, 나머지 조건은 걸러낸다.
+     * 조건이 없으면 id 순서로 앞에서부터 limit개를 반환한다.
+     */
+    public List<Item> findAll(ItemSearchCond cond, int limit) {
+        ItemIndex index;
+        int min;
+        int max;
+        if (cond.hasPriceCond()) {
+            index = priceIndex;
+            min = cond.getPriceMin() == null ? Integer.MIN_VALUE : cond.getPriceMin();
+            max = cond.getPriceMax() == null ? Integer.MAX_VALUE : cond.getPriceMax();
+        } else if (cond.hasQuantityCond()) {
+            index = quantityIndex;
+            min = cond.getQuantityMin() == null ? Integer.MIN_VALUE : cond.getQuantityMin();
+            max = cond.getQuantityMax() == null ? Integer.MAX_VALUE : cond.getQuantityMax();
+        } else {
+            return store.findRange(0, limit);
+        }
+
+        List<Item> result = new ArrayList<>();
+        for (ItemIndex.Entry entry : index.range(min, max)) {
+            if (result.size() >= limit) {
+                break;
+            }
+            // 인덱스 갱신 중에 읽었을 수 있으므로 저장소의 현재 값으로 다시 확인한다.
+            Item item = store.get(entry.id);
+            if (item != null && cond.matches(item)) {
+                result.add(item);
+            }
+        }
+        return result;
     }
 
     public void update(Long itemId, Item updateParam) {
-        Item findItem = findById(itemId);
-        findItem.setItemName(updateParam.getItemName());
-        findItem.setPrice(updateParam.getPrice());
-        findItem.setQuantity(updateParam.getQuantity());
+        while (true) {
+            Item findItem = store.get(itemId);
+            if (findItem == null || replace(findItem, updateParam)) {
+                return;
+            }
+        }
+    }
+
+    /**
+     * 현재 버전이 expectedVersion일 때만 수정한다. 다른 수정이 먼저 반영되었으면 false를 반환한다.
+     */
+    public boolean update(Long itemId, Item updateParam, long expectedVersion) {
+        Item findItem = store.get(itemId);
+        return findItem != null && Long.valueOf(expectedVersion).equals(findItem.getVersion()) && replace(findItem, updateParam);
     }
 
+    /**
+     * 메모리의 상품만 지운다. WAL을 쓰는 경우 디스크의 기록은 그대로 남는다.
+     */
     public void clearStore() {
         store.clear();
+        priceIndex.clear();
+        quantityIndex.clear();
+        touch(System.currentTimeMillis());
+        for (ItemChangeListener listener : changeListeners) {
+            listener.allChanged();
+        }
+    }
+
+    public void addChangeListener(ItemChangeListener listener) {
+        changeListeners.add(listener);
+    }
+
+    @PreDestroy
+    public void close() throws IOException {
+        if (wal != null) {
+            wal.close();
+        }
+    }
+
+    private boolean replace(Item findItem, Item updateParam) {
+        // 필드를 하나씩 바꾸면 다른 스레드가 섞인 상태를 볼 수 있으므로, 새 객체로 통째로 교체한다.
+        Item updateItem = new Item(updateParam.getItemName(), updateParam.getPrice(), updateParam.getQuantity());
+        updateItem.setId(findItem.getId());
+        updateItem.setVersion(findItem.getVersion() == null ? 1 : findItem.getVersion() + 1);
+        updateItem.setLastModified(System.currentTimeMillis());
+        if (!store.compareAndSet(findItem, updateItem)) {
+            return false;
+        }
+        touch(updateItem.getLastModified());
+        reindex(findItem.getId(), findItem);
+        changed(findItem.getId());
+        try {
+            sync(log(updateItem));
+        } catch (RuntimeException e) {
+            rollback(updateItem, findItem);
+            throw e;
+        }
+        return true;
+    }
+
+    /**
+     * WAL에 남기지 못한 쓰기(applied)를 되돌린다. 저장이면 지우고(previous == null), 수정이면 이전 값으로 되돌린다.
+     * 그 사이에 다른 수정이 먼저 덮어썼으면 저장소는 그 값을 그대로 둔다.
+     */
+    private void rollback(Item applied, Item previous) {
+        long itemId = applied.getId();
+        if (previous == null) {
+            if (!store.remove(applied)) {
+                return;
+            }
+            synchronized (indexLocks[(int) (itemId & (indexLocks.length - 1))]) {
+                priceIndex.remove(applied.getPrice(), itemId);
+                quantityIndex.remove(applied.getQuantity(), itemId);
+            }
+        } else {
+            if (!store.compareAndSet(applied, previous)) {
+                return;
+            }
+            reindex(itemId, applied);
+        }
+        touch(System.currentTimeMillis());
+        changed(itemId);
+    }
+
+    /**
+     * 인덱스를 저장소의 현재 값에 맞춘다. 이전 값(oldItem)이 현재 값과 다르면 지우고, 현재 값은 (이미 있어도) 넣는다.
+     * 같은 상품의 정리는 락으로 직렬화되므로, 나중에 정리하는 쪽이 항상 최신 값을 보고 맞춘다.
+     */
+    private void reindex(long itemId, Item oldItem) {
+        synchronized (indexLocks[(int) (itemId & (indexLocks.length - 1))]) {
+            Item current = store.get(itemId);
+            if (current == null) {
+                return;
+            }
+            if (oldItem != null && !Objects.equals(oldItem.getPrice(), current.getPrice())) {
+                priceIndex.remove(oldItem.getPrice(), itemId);
+            }
+            if (oldItem != null && !Objects.equals(oldItem.getQuantity(), current.getQuantity())) {
+                quantityIndex.remove(oldItem.getQuantity(), itemId);
+            }
+            priceIndex.add(current.getPrice(), itemId);
+            quantityIndex.add(current.getQuantity(), itemId);
+        }
+    }
+
+    private void load(List<Item> items) {
+        store.putAll(items);
+        for (Item item : items) {
+            priceIndex.add(item.getPrice(), item.getId());
+            quantityIndex.add(item.getQuantity(), item.getId());
+            sequence.accumulateAndGet(item.getId(), Math::max);
+            if (item.getLastModified() != null) {
+                lastModified.accumulateAndGet(item.getLastModified(), Math::max);
+            }
+        }
+    }
+
+    private void touch(long now) {
+        changeStamp.incrementAndGet();
+        lastModified.accumulateAndGet(now, Math::max);
+    }
+
+    private void changed(long itemId) {
+        for (ItemChangeListener listener : changeListeners) {
+            listener.itemChanged(itemId);
+        }
+    }
+
+    private long log(Item item) {
+        return wal == null ? 0 : wal.append(item);
+    }
+
+    private void sync(long ticket) {
+        if (wal != null) {
+            wal.await(ticket);
+        }
     }
 
 }
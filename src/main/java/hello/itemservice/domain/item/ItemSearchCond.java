@@ -0,0 +1,45 @@
+package hello.itemservice.domain.item;
+
+import lombok.Data;
+
+/**
+ * 가격, 수량 범위 검색 조건. 값이 없는 조건은 적용하지 않는다. (경계값 포함)
+ */
+@Data
+public class ItemSearchCond {
+
+    private Integer priceMin;
+    private Integer priceMax;
+    private Integer quantityMin;
+    private Integer quantityMax;
+
+    public ItemSearchCond() {
+    }
+
+    public ItemSearchCond(Integer priceMin, Integer priceMax, Integer quantityMin, Integer quantityMax) {
+        this.priceMin = priceMin;
+        this.priceMax = priceMax;
+        this.quantityMin = quantityMin;
+        this.quantityMax = quantityMax;
+    }
+
+    boolean hasPriceCond() {
+        return priceMin != null || priceMax != null;
+    }
+
+    boolean hasQuantityCond() {
+        return quantityMin != null || quantityMax != null;
+    }
+
+    boolean matches(Item item) {
+        return inRange(item.getPrice(), priceMin, priceMax) && inRange(item.getQuantity(), quantityMin, quantityMax);
+    }
+
+    private static boolean inRange(Integer value, Integer min, Integer max) {
+        if (min == null && max == null) {
+            return true;
+        }
+        return value != null && (min == null || value >= min) && (max == null || value <= max);
+    }
+
+}
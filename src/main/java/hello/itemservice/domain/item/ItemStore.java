@@ -0,0 +1,53 @@
+package hello.itemservice.domain.item;
+
+import java.util.List;
+
+/**
+ * ItemRepository가 실제로 상품을 보관하는 저장소.
+ * id 할당, 스냅샷 같은 정책은 ItemRepository가 담당하고, 저장소는 id 순서로 상품을 보관만 한다.
+ */
+interface ItemStore {
+
+    /**
+     * id가 채워진 상품을 저장한다. 같은 id가 있으면 덮어쓴다.
+     */
+    void put(Item item);
+
+    /**
+     * 여러 상품을 한 번에 저장한다. (WAL 복구처럼 대량으로 넣을 때 사용한다.)
+     */
+    void putAll(List<Item> items);
+
+    /**
+     * 저장소의 현재 상품이 expect와 같은 버전일 때만 update로 교체한다. (compare-and-set)
+     * MAP은 락 없이 교체하고, COLUMNAR는 쓰기 락을 잡고 비교한 뒤 교체한다.
+     */
+    boolean compareAndSet(Item expect, Item update);
+
+    /**
+     * 저장소의 현재 상품이 expect와 같은 버전일 때만 지운다. (WAL에 남기지 못한 저장을 되돌릴 때 사용한다.)
+     */
+    boolean remove(Item expect);
+
+    Item get(long id);
+
+    /**
+     * id 순서로 정렬된 읽기 전용 목록을 반환한다.
+     */
+    List<Item> findAll();
+
+    /**
+     * id 순서로 offset번째부터 최대 limit개를 반환한다.
+     */
+    List<Item> findRange(int offset, int limit);
+
+    /**
+     * id가 afterId보다 큰 상품을 id 순서로 최대 limit개 반환한다. (키셋 페이징)
+     */
+    List<Item> findAfter(long afterId, int limit);
+
+    int size();
+
+    void clear();
+
+}
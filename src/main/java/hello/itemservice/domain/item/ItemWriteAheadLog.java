@@ -0,0 +1,524 @@
+package hello.itemservice.domain.item;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.zip.CRC32;
+
+/**
+ * 상품 저장/수정을 디스크에 남기는 선행 기록 로그(write-ahead log).
+ *
+ * - 세그먼트 : 고정 크기 파일을 메모리 매핑(mmap)해서 레코드를 이어 쓴다. 가득 차면 다음 세그먼트로 넘어간다.
+ * - 그룹 커밋 : append()는 버퍼에 쓰기만 하고 순번(ticket)을 돌려준다. 별도의 flusher 스레드가
+ *   한 번의 force(fsync)로 그 사이에 쌓인 모든 레코드를 내리고, await(ticket)으로 기다리던 스레드들을 함께 깨운다.
+ *   가득 찬 세그먼트도 append 락 안에서 내리지 않고 flusher가 다음 force 때 함께 내린 뒤 닫는다.
+ *   force가 실패하면(디스크 오류) 그 뒤로는 기다리던 스레드와 새 append 모두 예외로 끝난다. (영원히 기다리지 않게)
+ * - 스냅샷 : 세그먼트가 일정 개수 이상 쌓이면 현재 상태 전체를 snapshot-N 파일로 쓰고,
+ *   N번 이전 세그먼트와 이전 스냅샷은 지운다. (snapshot-N + N번 이후 세그먼트 = 전체 상태)
+ * - 복구 : 세그먼트마다 병렬로 읽어서 id별로 버전이 가장 큰 값만 남기고 합친다.
+ *   수정은 락 없이 로그에 남기므로 같은 상품의 레코드 순서가 버전 순서와 다를 수 있다.
+ *
+ * 레코드는 [길이][CRC32][id, null 플래그, version, lastModified, price, quantity, itemName] 형식의 전체 행이다.
+ * 저장과 수정 모두 같은 id의 더 큰 버전으로 덮어쓰면 되므로 같은 레코드를 여러 번 재생해도 결과가 같다.
+ * 길이가 0이거나 CRC가 맞지 않는 곳(쓰다가 중단된 레코드)에서 그 세그먼트의 재생을 멈춘다.
+ */
+@Slf4j
+class ItemWriteAheadLog implements Closeable {
+
+    private static final String SEGMENT_SUFFIX = ".log";
+    private static final String SNAPSHOT_PREFIX = "snapshot-";
+    private static final int HEADER_SIZE = 8;
+    private static final byte NULL_NAME = 1;
+    private static final byte NULL_PRICE = 1 << 1;
+    private static final byte NULL_QUANTITY = 1 << 2;
+    private static final byte NULL_VERSION = 1 << 3;
+    private static final byte NULL_LAST_MODIFIED = 1 << 4;
+
+    private final Path dir;
+    private final int segmentSize;
+    private final int segmentsPerSnapshot;
+    private final Supplier<List<Item>> snapshotSource;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition flushRequested = lock.newCondition();
+    private final Condition flushed = lock.newCondition();
+    private final Thread flusher = new Thread(this::flushLoop, "item-wal-flusher");
+    private final ExecutorService compactor = Executors.newSingleThreadExecutor(r -> {
+        Thread thread = new Thread(r, "item-wal-compactor");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private final List<Segment> sealed = new ArrayList<>();
+
+    private FileChannel channel;
+    private MappedByteBuffer buffer;
+    private long segmentNo;
+    private long snapshotNo;
+    private long appendedBytes;
+    private long flushedBytes;
+    private boolean compacting;
+    private boolean closed;
+    private Throwable failure;
+
+    ItemWriteAheadLog(Path dir, int segmentSize, int segmentsPerSnapshot, Supplier<List<Item>> snapshotSource) {
+        this.dir = dir;
+        this.segmentSize = segmentSize;
+        this.segmentsPerSnapshot = segmentsPerSnapshot;
+        this.snapshotSource = snapshotSource;
+        flusher.setDaemon(true);
+    }
+
+    /**
+     * 마지막 스냅샷과 그 이후 세그먼트를 재생해서 상품 목록을 id 순서로 돌려준다. start() 전에 한 번 호출한다.
+     */
+    List<Item> recover() throws IOException {
+        Files.createDirectories(dir);
+        snapshotNo = latestSnapshotNo();
+        Map<Long, Item> state = new HashMap<>();
+        if (snapshotNo > 0) {
+            readRecords(snapshotPath(snapshotNo), state);
+        }
+
+        List<Long> segmentNos = segmentNos().stream()
+                .filter(no -> no >= snapshotNo)
+                .collect(Collectors.toList());
+        // 세그먼트는 서로 독립적이므로 병렬로 읽고, id별로 버전이 가장 큰 값을 남긴다.
+        List<Map<Long, Item>> segments = segmentNos.parallelStream()
+                .map(this::readSegment)
+                .collect(Collectors.toList());
+        for (Map<Long, Item> segment : segments) {
+            for (Item item : segment.values()) {
+                merge(state, item);
+            }
+        }
+
+        segmentNo = segmentNos.isEmpty() ? Math.max(snapshotNo - 1, 0) : segmentNos.get(segmentNos.size() - 1);
+        List<Item> items = new ArrayList<>(state.values());
+        items.sort(Comparator.comparing(Item::getId));
+        log.info("WAL 복구 dir={} snapshot={} segments={} items={}", dir, snapshotNo, segmentNos.size(), items.size());
+        return items;
+    }
+
+    /**
+     * 새 세그먼트를 열고 flusher 스레드를 시작한다. 이전 세그먼트의 남은 공간은 다시 쓰지 않는다.
+     */
+    void start() throws IOException {
+        lock.lock();
+        try {
+            openSegment(++segmentNo);
+        } finally {
+            lock.unlock();
+        }
+        flusher.start();
+    }
+
+    /**
+     * 레코드를 현재 세그먼트에 쓰고 순번을 반환한다. 아직 디스크에 내려간 것은 아니다.
+     */
+    long append(Item item) {
+        byte[] record = encode(item);
+        if (record.length > segmentSize) {
+            throw new IllegalArgumentException("레코드가 세그먼트보다 큽니다. size=" + record.length);
+        }
+        lock.lock();
+        try {
+            if (closed) {
+                throw new IllegalStateException("WAL이 이미 닫혔습니다.");
+            }
+            checkFailure();
+            if (buffer.remaining() < record.length) {
+                roll();
+            }
+            buffer.put(record);
+            appendedBytes += record.length;
+            flushRequested.signal();
+            return appendedBytes;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * ticket까지의 레코드가 디스크에 내려갈 때까지 기다린다. 내리다가 실패했으면 IllegalStateException을 던진다.
+     */
+    void await(long ticket) {
+        lock.lock();
+        try {
+            while (flushedBytes < ticket) {
+                checkFailure();
+                flushed.awaitUninterruptibly();
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        lock.lock();
+        try {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            for (Segment segment : sealed) {
+                segment.forceAndClose();
+            }
+            sealed.clear();
+            if (buffer != null) {
+                buffer.force();
+                channel.close();
+            }
+            flushedBytes = appendedBytes;
+            flushed.signalAll();
+            flushRequested.signalAll();
+        } finally {
+            lock.unlock();
+        }
+        compactor.shutdown();
+        try {
+            compactor.awaitTermination(10, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * 현재 세그먼트를 디스크에 내린다. (테스트에서 디스크 오류를 흉내 낼 때 재정의한다.)
+     */
+    void force(MappedByteBuffer target) {
+        target.force();
+    }
+
+    Path getDir() {
+        return dir;
+    }
+
+    private void flushLoop() {
+        while (true) {
+            MappedByteBuffer target;
+            List<Segment> full;
+            long targetBytes;
+            lock.lock();
+            try {
+                while (flushedBytes == appendedBytes && !closed) {
+                    flushRequested.awaitUninterruptibly();
+                }
+                if (closed) {
+                    return;
+                }
+                target = buffer;
+                full = new ArrayList<>(sealed);
+                sealed.clear();
+                targetBytes = appendedBytes;
+            } finally {
+                lock.unlock();
+            }
+
+            // 락 밖에서 force하므로 그동안 다른 스레드는 계속 append할 수 있다.
+            // 가득 찬 세그먼트를 먼저 내려야 targetBytes까지 빠짐없이 디스크에 있다.
+            try {
+                for (Segment segment : full) {
+                    segment.forceAndClose();
+                }
+                force(target);
+            } catch (IOException | RuntimeException e) {
+                log.error("WAL flush 실패, 이후 쓰기는 모두 실패합니다. dir={}", dir, e);
+                lock.lock();
+                try {
+                    failure = e;
+                    flushed.signalAll();
+                } finally {
+                    lock.unlock();
+                }
+                return;
+            }
+
+            lock.lock();
+            try {
+                flushedBytes = Math.max(flushedBytes, targetBytes);
+                flushed.signalAll();
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+
+    /**
+     * 락을 잡은 상태에서 호출한다. 다음 세그먼트를 열고, 현재 세그먼트는 flusher가 내리도록 넘긴다.
+     */
+    private void roll() {
+        Segment previous = new Segment(channel, buffer);
+        try {
+            openSegment(segmentNo + 1);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        segmentNo++;
+        sealed.add(previous);
+        if (segmentNo - snapshotNo > segmentsPerSnapshot && !compacting) {
+            compacting = true;
+            compactor.execute(this::snapshot);
+        }
+    }
+
+    private void openSegment(long no) throws IOException {
+        FileChannel next = FileChannel.open(segmentPath(no),
+                StandardOpenOption.CREATE_NEW, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        try {
+            buffer = next.map(FileChannel.MapMode.READ_WRITE, 0, segmentSize);
+        } catch (IOException e) {
+            next.close();
+            throw e;
+        }
+        channel = next;
+    }
+
+    /**
+     * 락을 잡은 상태에서 호출한다.
+     */
+    private void checkFailure() {
+        if (failure != null) {
+            throw new IllegalStateException("WAL을 디스크에 내리지 못했습니다.", failure);
+        }
+    }
+
+    /**
+     * 현재 열린 세그먼트 번호(boundary)를 기준으로 스냅샷을 만든다.
+     * 저장소에는 로그보다 먼저 쓰므로, boundary 이전 세그먼트의 레코드는 모두 지금 읽는 상태에 들어 있다.
+     */
+    private void snapshot() {
+        long boundary;
+        lock.lock();
+        try {
+            boundary = segmentNo;
+        } finally {
+            lock.unlock();
+        }
+
+        try {
+            Path tmp = dir.resolve(SNAPSHOT_PREFIX + boundary + ".tmp");
+            try (FileOutputStream file = new FileOutputStream(tmp.toFile());
+                 BufferedOutputStream out = new BufferedOutputStream(file, 64 * 1024)) {
+                for (Item item : snapshotSource.get()) {
+                    out.write(encode(item));
+                }
+                out.flush();
+                file.getFD().sync();
+            }
+            Files.move(tmp, snapshotPath(boundary), StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+
+            for (long no : segmentNos()) {
+                if (no < boundary) {
+                    Files.deleteIfExists(segmentPath(no));
+                }
+            }
+            try (Stream<Path> files = Files.list(dir)) {
+                for (Path file : (Iterable<Path>) files::iterator) {
+                    long no = snapshotNoOf(file);
+                    if (no > 0 && no < boundary) {
+                        Files.deleteIfExists(file);
+                    }
+                }
+            }
+            log.info("WAL 스냅샷 생성 boundary={}", boundary);
+        } catch (IOException e) {
+            log.error("WAL 스냅샷 실패 boundary={}", boundary, e);
+            boundary = snapshotNo;
+        }
+
+        lock.lock();
+        try {
+            snapshotNo = boundary;
+            compacting = false;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private Map<Long, Item> readSegment(long no) {
+        Map<Long, Item> items = new HashMap<>();
+        try {
+            readRecords(segmentPath(no), items);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return items;
+    }
+
+    private static void readRecords(Path path, Map<Long, Item> items) throws IOException {
+        try (FileChannel in = FileChannel.open(path, StandardOpenOption.READ)) {
+            MappedByteBuffer buf = in.map(FileChannel.MapMode.READ_ONLY, 0, in.size());
+            CRC32 crc = new CRC32();
+            while (buf.remaining() >= HEADER_SIZE) {
+                int length = buf.getInt();
+                int checksum = buf.getInt();
+                if (length <= 0 || length > buf.remaining()) {
+                    break;
+                }
+                byte[] payload = new byte[length];
+                buf.get(payload);
+                crc.reset();
+                crc.update(payload);
+                if ((int) crc.getValue() != checksum) {
+                    log.warn("WAL 레코드 손상, 재생 중단 file={} position={}", path, buf.position() - length - HEADER_SIZE);
+                    break;
+                }
+                merge(items, decode(ByteBuffer.wrap(payload)));
+            }
+        }
+    }
+
+    private static void merge(Map<Long, Item> items, Item item) {
+        items.merge(item.getId(), item, (prev, next) -> versionOf(next) >= versionOf(prev) ? next : prev);
+    }
+
+    private static long versionOf(Item item) {
+        return item.getVersion() == null ? 0 : item.getVersion();
+    }
+
+    static byte[] encode(Item item) {
+        byte[] name = item.getItemName() == null ? new byte[0] : item.getItemName().getBytes(StandardCharsets.UTF_8);
+        int length = 8 + 1 + 8 + 8 + 4 + 4 + 4 + name.length;
+        byte flags = 0;
+        if (item.getItemName() == null) {
+            flags |= NULL_NAME;
+        }
+        if (item.getPrice() == null) {
+            flags |= NULL_PRICE;
+        }
+        if (item.getQuantity() == null) {
+            flags |= NULL_QUANTITY;
+        }
+        if (item.getVersion() == null) {
+            flags |= NULL_VERSION;
+        }
+        if (item.getLastModified() == null) {
+            flags |= NULL_LAST_MODIFIED;
+        }
+
+        ByteBuffer buf = ByteBuffer.allocate(HEADER_SIZE + length);
+        buf.putInt(length);
+        buf.putInt(0);
+        buf.putLong(item.getId());
+        buf.put(flags);
+        buf.putLong(item.getVersion() == null ? 0 : item.getVersion());
+        buf.putLong(item.getLastModified() == null ? 0 : item.getLastModified());
+        buf.putInt(item.getPrice() == null ? 0 : item.getPrice());
+        buf.putInt(item.getQuantity() == null ? 0 : item.getQuantity());
+        buf.putInt(name.length);
+        buf.put(name);
+
+        CRC32 crc = new CRC32();
+        crc.update(buf.array(), HEADER_SIZE, length);
+        buf.putInt(4, (int) crc.getValue());
+        return buf.array();
+    }
+
+    static Item decode(ByteBuffer payload) {
+        Item item = new Item();
+        item.setId(payload.getLong());
+        byte flags = payload.get();
+        long version = payload.getLong();
+        long lastModified = payload.getLong();
+        int price = payload.getInt();
+        int quantity = payload.getInt();
+        byte[] name = new byte[payload.getInt()];
+        payload.get(name);
+        if ((flags & NULL_NAME) == 0) {
+            item.setItemName(new String(name, StandardCharsets.UTF_8));
+        }
+        if ((flags & NULL_PRICE) == 0) {
+            item.setPrice(price);
+        }
+        if ((flags & NULL_QUANTITY) == 0) {
+            item.setQuantity(quantity);
+        }
+        if ((flags & NULL_VERSION) == 0) {
+            item.setVersion(version);
+        }
+        if ((flags & NULL_LAST_MODIFIED) == 0) {
+            item.setLastModified(lastModified);
+        }
+        return item;
+    }
+
+    private List<Long> segmentNos() throws IOException {
+        try (Stream<Path> files = Files.list(dir)) {
+            return files.map(Path::getFileName)
+                    .map(Path::toString)
+                    .filter(name -> name.endsWith(SEGMENT_SUFFIX))
+                    .map(name -> Long.parseLong(name.substring(0, name.length() - SEGMENT_SUFFIX.length())))
+                    .sorted()
+                    .collect(Collectors.toList());
+        }
+    }
+
+    private long latestSnapshotNo() throws IOException {
+        try (Stream<Path> files = Files.list(dir)) {
+            return files.mapToLong(ItemWriteAheadLog::snapshotNoOf).max().orElse(0);
+        }
+    }
+
+    private static long snapshotNoOf(Path file) {
+        String name = file.getFileName().toString();
+        if (!name.startsWith(SNAPSHOT_PREFIX) || name.endsWith(".tmp")) {
+            return 0;
+        }
+        return Long.parseLong(name.substring(SNAPSHOT_PREFIX.length()));
+    }
+
+    private Path segmentPath(long no) {
+        return dir.resolve(String.format("%020d%s", no, SEGMENT_SUFFIX));
+    }
+
+    private Path snapshotPath(long no) {
+        return dir.resolve(SNAPSHOT_PREFIX + no);
+    }
+
+    /**
+     * 가득 차서 더 쓰지 않는 세그먼트. flusher가 내린 뒤 닫는다.
+     */
+    private static class Segment {
+
+        private final FileChannel channel;
+        private final MappedByteBuffer buffer;
+
+        Segment(FileChannel channel, MappedByteBuffer buffer) {
+            this.channel = channel;
+            this.buffer = buffer;
+        }
+
+        void forceAndClose() throws IOException {
+            buffer.force();
+            channel.close();
+        }
+    }
+
+}
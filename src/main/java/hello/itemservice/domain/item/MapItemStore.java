@@ -0,0 +1,131 @@
+package hello.itemservice.domain.item;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ConcurrentNavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.Collectors;
+
+/**
+ * 기본 저장소. 상품 객체를 그대로 맵에 보관한다.
+ * - store : ConcurrentSkipListMap => 락 없이 쓰기가 가능하고, id 순서로 정렬되어 있다.
+ *   수정은 ConcurrentMap.replace(key, old, new)로 락 없이 compare-and-set 한다.
+ * - snapshot : 쓰기는 쓰기 횟수(writes)만 올린다. 읽기에서 스냅샷이 낡았으면 그 읽기가 락 없이 불변 리스트로 다시 만들어 게시한다.
+ *   읽기끼리 서로 기다리지 않고, 쓰기가 없는 동안 findAll()은 같은 스냅샷을 그대로 반환한다.
+ *   (목록 화면은 읽기가 대부분이다.)
+ * - findRange / findAfter : 스냅샷을 쓰지 않고 스킵 리스트를 직접 훑어서 요청한 페이지만큼만 읽는다.
+ */
+class MapItemStore implements ItemStore {
+
+    private final ConcurrentNavigableMap<Long, Item> store = new ConcurrentSkipListMap<>();
+    private final AtomicLong writes = new AtomicLong();
+    private final AtomicReference<Snapshot> snapshot = new AtomicReference<>(new Snapshot(0, List.of()));
+
+    @Override
+    public void put(Item item) {
+        store.put(item.getId(), item);
+        writes.incrementAndGet();
+    }
+
+    @Override
+    public void putAll(List<Item> items) {
+        for (Item item : items) {
+            store.put(item.getId(), item);
+        }
+        writes.incrementAndGet();
+    }
+
+    @Override
+    public boolean compareAndSet(Item expect, Item update) {
+        // 저장소에서 꺼낸 객체 그대로를 기대값으로 쓰므로, 그 사이에 다른 수정이 있었으면 (버전이 달라서) 실패한다.
+        boolean replaced = store.replace(update.getId(), expect, update);
+        if (replaced) {
+            writes.incrementAndGet();
+        }
+        return replaced;
+    }
+
+    @Override
+    public boolean remove(Item expect) {
+        boolean removed = store.remove(expect.getId(), expect);
+        if (removed) {
+            writes.incrementAndGet();
+        }
+        return removed;
+    }
+
+    @Override
+    public Item get(long id) {
+        return store.get(id);
+    }
+
+    @Override
+    public List<Item> findAll() {
+        return snapshot();
+    }
+
+    @Override
+    public List<Item> findRange(int offset, int limit) {
+        // 스냅샷을 만들지 않고 스킵 리스트를 id 순서대로 그대로 훑는다.
+        return store.values().stream()
+                .skip(offset)
+                .limit(limit)
+                .collect(Collectors.toUnmodifiableList());
+    }
+
+    @Override
+    public List<Item> findAfter(long afterId, int limit) {
+        // tailMap은 afterId 다음 키부터 시작하는 뷰이므로 앞쪽은 건너뛰지 않고 limit개만 읽는다.
+        List<Item> items = new ArrayList<>();
+        for (Item item : store.tailMap(afterId, false).values()) {
+            if (items.size() >= limit) {
+                break;
+            }
+            items.add(item);
+        }
+        return Collections.unmodifiableList(items);
+    }
+
+    @Override
+    public int size() {
+        return store.size();
+    }
+
+    @Override
+    public void clear() {
+        store.clear();
+        writes.incrementAndGet();
+    }
+
+    /**
+     * 스냅샷이 낡았으면 락 없이 각자 복사한다. 복사 중인 다른 읽기를 기다리지 않는다.
+     * 쓰기 횟수를 복사 전에 읽으므로, 복사 중에 들어온 쓰기가 있으면 다음 읽기에서 다시 만든다.
+     * 게시는 더 새로운 스냅샷일 때만 하므로 늦게 끝난 복사가 새 스냅샷을 덮어쓰지 않는다.
+     */
+    private List<Item> snapshot() {
+        long version = writes.get();
+        Snapshot current = snapshot.get();
+        if (current.writes >= version) {
+            return current.items;
+        }
+        Snapshot rebuilt = new Snapshot(version, List.copyOf(store.values()));
+        snapshot.accumulateAndGet(rebuilt, (published, candidate) ->
+                candidate.writes > published.writes ? candidate : published);
+        return rebuilt.items;
+    }
+
+    private static class Snapshot {
+
+        private final long writes;
+        private final List<Item> items;
+
+        Snapshot(long writes, List<Item> items) {
+            this.writes = writes;
+            this.items = items;
+        }
+    }
+
+}
@@ -0,0 +1,416 @@
+package hello.itemservice.message;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.MessageSource;
+import org.springframework.context.MessageSourceResolvable;
+import org.springframework.context.NoSuchMessageException;
+import org.springframework.context.support.DefaultMessageSourceResolvable;
+import org.springframework.core.io.DefaultResourceLoader;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.ResourceLoader;
+import org.springframework.lang.Nullable;
+
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.nio.charset.Charset;
+import java.text.DateFormat;
+import java.text.MessageFormat;
+import java.text.NumberFormat;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * 메시지 파일(messages, messages_en, errors ...)을 로케일별 불변 테이블로 읽어 두는 MessageSource.
+ * ResourceBundleMessageSource와 같은 결과를 내지만 요청마다 번들을 찾거나 MessageFormat을 만들지 않는다.
+ *
+ * - 로케일 테이블 : 기본 파일 위에 언어 파일(_en 등)을 덮어쓰고, 앞에 적은 basename이 우선하도록 합쳐 둔다.
+ *   요청 로케일의 파일이 없으면 시스템 로케일의 파일을 쓴다. (ResourceBundle과 같다.)
+ *   preloadLocales는 시작할 때 만들고, 나머지 로케일은 처음 요청될 때 한 번 만든다.
+ * - 메시지 형식 : 읽을 때 "가격은 {0} ~ {1} 까지" 같은 패턴을 글자 조각과 인자 위치로 미리 나누어 둔다.
+ *   따옴표나 형식 지정({0,number,#})이 있는 패턴만 미리 파싱한 MessageFormat을 복제해서 쓴다.
+ * - 코드 목록 : FieldError처럼 코드가 여러 개면(required.item.itemName ~ required) 처음 찾은 메시지를
+ *   코드 목록의 내용별로 기억해서 다음부터는 한 번에 찾는다. 요청마다 새로 만든 배열이어도 내용이 같으면 맞는다.
+ * - reload() : 파일을 다시 읽어서 테이블을 통째로 바꾼다. 읽는 중에도 이전 테이블로 계속 응답한다.
+ */
+@Slf4j
+public class PrecompiledMessageSource implements MessageSource {
+
+    static final int MAX_CACHED_CODES = 4096;
+    private static final Template MISSING = new Template(null, null, null, null);
+
+    private final List<String> basenames;
+    private final Charset encoding;
+    private final List<Locale> preloadLocales;
+    private final boolean fallbackToSystemLocale;
+    private final ResourceLoader resourceLoader = new DefaultResourceLoader();
+
+    private volatile Tables tables;
+
+    public PrecompiledMessageSource(List<String> basenames, Charset encoding, List<Locale> preloadLocales,
+                                    boolean fallbackToSystemLocale) {
+        this.basenames = List.copyOf(basenames);
+        this.encoding = encoding;
+        this.preloadLocales = List.copyOf(preloadLocales);
+        this.fallbackToSystemLocale = fallbackToSystemLocale;
+        reload();
+    }
+
+    /**
+     * 메시지 파일을 다시 읽는다.
+     */
+    public void reload() {
+        Tables reloaded = new Tables();
+        for (Locale locale : preloadLocales) {
+            reloaded.get(locale);
+        }
+        tables = reloaded;
+        log.info("메시지 테이블 로딩 basenames={} locales={}", basenames, preloadLocales);
+    }
+
+    @Override
+    public String getMessage(String code, @Nullable Object[] args, @Nullable String defaultMessage, @Nullable Locale locale) {
+        LocaleTable table = table(locale);
+        Template template = table.entries.get(code);
+        if (template != null) {
+            return template.format(resolveArguments(args, table), table);
+        }
+        if (defaultMessage == null) {
+            return null;
+        }
+        return render(defaultMessage, args, table);
+    }
+
+    @Override
+    public String getMessage(String code, @Nullable Object[] args, @Nullable Locale locale) throws NoSuchMessageException {
+        LocaleTable table = table(locale);
+        Template template = table.entries.get(code);
+        if (template == null) {
+            throw new NoSuchMessageException(code, table.locale);
+        }
+        return template.format(resolveArguments(args, table), table);
+    }
+
+    @Override
+    public String getMessage(MessageSourceResolvable resolvable, @Nullable Locale locale) throws NoSuchMessageException {
+        return getMessage(resolvable, table(locale));
+    }
+
+    private String getMessage(MessageSourceResolvable resolvable, LocaleTable table) {
+        String[] codes = resolvable.getCodes();
+        if (codes != null && codes.length > 0) {
+            Template template = table.lookup(codes);
+            if (template != MISSING) {
+                return template.format(resolveArguments(resolvable.getArguments(), table), table);
+            }
+        }
+
+        String defaultMessage = resolvable.getDefaultMessage();
+        if (defaultMessage != null) {
+            if (resolvable instanceof DefaultMessageSourceResolvable
+                    && !((DefaultMessageSourceResolvable) resolvable).shouldRenderDefaultMessage()) {
+                return defaultMessage;
+            }
+            return render(defaultMessage, resolvable.getArguments(), table);
+        }
+        throw new NoSuchMessageException(codes != null && codes.length > 0 ? codes[codes.length - 1] : "", table.locale);
+    }
+
+    /**
+     * 코드 목록 캐시에 들어 있는 항목 수. (테스트용)
+     */
+    int cachedCodes(Locale locale) {
+        return table(locale).resolved.size();
+    }
+
+    private LocaleTable table(@Nullable Locale locale) {
+        return tables.get(locale == null ? Locale.getDefault() : locale);
+    }
+
+    private Object[] resolveArguments(@Nullable Object[] args, LocaleTable table) {
+        if (args == null || args.length == 0) {
+            return args;
+        }
+        Object[] resolved = args;
+        for (int i = 0; i < args.length; i++) {
+            if (args[i] instanceof MessageSourceResolvable) {
+                if (resolved == args) {
+                    resolved = args.clone();
+                }
+                resolved[i] = getMessage((MessageSourceResolvable) args[i], table);
+            }
+        }
+        return resolved;
+    }
+
+    /**
+     * 기본 메시지는 미리 컴파일할 수 없으므로 AbstractMessageSource처럼 인자가 있을 때만 MessageFormat을 쓴다.
+     */
+    private String render(String message, @Nullable Object[] args, LocaleTable table) {
+        Object[] resolved = resolveArguments(args, table);
+        if (resolved == null || resolved.length == 0) {
+            return message;
+        }
+        return new MessageFormat(message, table.locale).format(resolved);
+    }
+
+    private Properties load(String basename, Locale locale) {
+        List<String> suffixes = new ArrayList<>();
+        if (!locale.getVariant().isEmpty()) {
+            suffixes.add("_" + locale.getLanguage() + "_" + locale.getCountry() + "_" + locale.getVariant());
+        }
+        if (!locale.getCountry().isEmpty()) {
+            suffixes.add("_" + locale.getLanguage() + "_" + locale.getCountry());
+        }
+        if (!locale.getLanguage().isEmpty()) {
+            suffixes.add("_" + locale.getLanguage());
+        }
+
+        // 구체적인 파일이 먼저 온다.
+        List<Properties> chain = new ArrayList<>();
+        for (String suffix : suffixes) {
+            Properties properties = read(basename + suffix);
+            if (properties != null) {
+                chain.add(properties);
+            }
+        }
+        Locale systemLocale = Locale.getDefault();
+        if (chain.isEmpty() && fallbackToSystemLocale && !locale.equals(systemLocale)) {
+            return load(basename, systemLocale);
+        }
+        Properties base = read(basename);
+        if (base != null) {
+            chain.add(base);
+        }
+
+        Properties merged = new Properties();
+        for (int i = chain.size() - 1; i >= 0; i--) {
+            merged.putAll(chain.get(i));
+        }
+        return merged;
+    }
+
+    private Properties read(String name) {
+        Resource resource = resourceLoader.getResource("classpath:" + name + ".properties");
+        if (!resource.exists()) {
+            return null;
+        }
+        Properties properties = new Properties();
+        try (Reader reader = new InputStreamReader(resource.getInputStream(), encoding)) {
+            properties.load(reader);
+        } catch (IOException e) {
+            throw new UncheckedIOException("메시지 파일을 읽을 수 없습니다. name=" + name, e);
+        }
+        return properties;
+    }
+
+    private final class Tables {
+
+        private final ConcurrentMap<Locale, LocaleTable> locales = new ConcurrentHashMap<>();
+
+        LocaleTable get(Locale locale) {
+            return locales.computeIfAbsent(locale, this::build);
+        }
+
+        private LocaleTable build(Locale locale) {
+            // 뒤의 basename부터 넣어서 앞의 basename이 이기게 한다.
+            Map<String, String> messages = new HashMap<>();
+            for (int i = basenames.size() - 1; i >= 0; i--) {
+                Properties properties = load(basenames.get(i), locale);
+                for (String key : properties.stringPropertyNames()) {
+                    messages.put(key, properties.getProperty(key));
+                }
+            }
+            Map<String, Template> entries = new HashMap<>(messages.size() * 2);
+            messages.forEach((code, message) -> entries.put(code, Template.compile(message, locale)));
+            return new LocaleTable(locale, Map.copyOf(entries));
+        }
+    }
+
+    private static final class LocaleTable {
+
+        private final Locale locale;
+        private final Map<String, Template> entries;
+        // 배열 자체는 equals/hashCode가 동일성 비교이므로 내용으로 비교하는 Codes로 감싸서 키로 쓴다.
+        private final ConcurrentMap<Codes, Template> resolved = new ConcurrentHashMap<>();
+        // NumberFormat은 스레드 안전하지 않으므로 빌려 쓰고 돌려놓는다.
+        // ThreadLocal은 요청마다 새 스레드인 가상 스레드에서는 매번 새로 만들게 되므로 쓰지 않는다.
+        private final NumberFormat numberFormat;
+        private final ConcurrentLinkedQueue<NumberFormat> numberFormats = new ConcurrentLinkedQueue<>();
+
+        LocaleTable(Locale locale, Map<String, Template> entries) {
+            this.locale = locale;
+            this.entries = entries;
+            this.numberFormat = NumberFormat.getInstance(locale);
+        }
+
+        String formatNumber(Object number) {
+            NumberFormat format = numberFormats.poll();
+            if (format == null) {
+                format = (NumberFormat) numberFormat.clone();
+            }
+            try {
+                return format.format(number);
+            } finally {
+                numberFormats.offer(format);
+            }
+        }
+
+        Template lookup(String[] codes) {
+            Template template = resolved.get(new Codes(codes));
+            if (template != null) {
+                return template;
+            }
+            template = MISSING;
+            for (String code : codes) {
+                Template found = entries.get(code);
+                if (found != null) {
+                    template = found;
+                    break;
+                }
+            }
+            if (resolved.size() < MAX_CACHED_CODES) {
+                // 호출한 쪽이 배열을 고쳐도 키가 바뀌지 않도록 복사해서 넣는다.
+                resolved.put(new Codes(codes.clone()), template);
+            }
+            return template;
+        }
+    }
+
+    /**
+     * 코드 배열을 내용으로 비교하는 캐시 키. 찾을 때는 배열을 복사하지 않고 감싸기만 한다.
+     */
+    private static final class Codes {
+
+        private final String[] codes;
+        private final int hash;
+
+        Codes(String[] codes) {
+            this.codes = codes;
+            this.hash = Arrays.hashCode(codes);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (!(o instanceof Codes)) {
+                return false;
+            }
+            Codes other = (Codes) o;
+            return hash == other.hash && Arrays.equals(codes, other.codes);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+
+    /**
+     * 미리 나누어 둔 메시지 패턴. 인자가 없으면 원문을 그대로 돌려준다. (AbstractMessageSource와 같다.)
+     */
+    private static final class Template {
+
+        private final String message;
+        private final String[] literals;
+        private final int[] argIndexes;
+        private final MessageFormat messageFormat;
+
+        private Template(String message, String[] literals, int[] argIndexes, MessageFormat messageFormat) {
+            this.message = message;
+            this.literals = literals;
+            this.argIndexes = argIndexes;
+            this.messageFormat = messageFormat;
+        }
+
+        static Template compile(String message, Locale locale) {
+            List<String> literals = new ArrayList<>();
+            List<Integer> argIndexes = new ArrayList<>();
+            int start = 0;
+            boolean simple = message.indexOf('\'') < 0;
+            while (simple) {
+                int open = message.indexOf('{', start);
+                if (open < 0) {
+                    literals.add(message.substring(start));
+                    break;
+                }
+                int close = message.indexOf('}', open);
+                if (close < 0 || !isIndex(message, open + 1, close)) {
+                    simple = false;
+                    break;
+                }
+                literals.add(message.substring(start, open));
+                argIndexes.add(Integer.parseInt(message.substring(open + 1, close)));
+                start = close + 1;
+            }
+            if (simple) {
+                return new Template(message, literals.toArray(new String[0]),
+                        argIndexes.stream().mapToInt(Integer::intValue).toArray(), null);
+            }
+            MessageFormat messageFormat;
+            try {
+                messageFormat = new MessageFormat(message, locale);
+            } catch (IllegalArgumentException e) {
+                messageFormat = null; // 사용할 때 같은 예외가 나도록 둔다.
+            }
+            return new Template(message, null, null, messageFormat);
+        }
+
+        private static boolean isIndex(String message, int from, int to) {
+            if (from == to) {
+                return false;
+            }
+            for (int i = from; i < to; i++) {
+                if (!Character.isDigit(message.charAt(i))) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        String format(@Nullable Object[] args, LocaleTable table) {
+            if (args == null || args.length == 0) {
+                return message;
+            }
+            if (literals == null) {
+                MessageFormat format = messageFormat == null
+                        ? new MessageFormat(message, table.locale) : (MessageFormat) messageFormat.clone();
+                return format.format(args);
+            }
+            StringBuilder sb = new StringBuilder(message.length() + 16);
+            for (int i = 0; i < argIndexes.length; i++) {
+                sb.append(literals[i]);
+                int index = argIndexes[i];
+                if (index >= args.length) {
+                    sb.append('{').append(index).append('}');
+                } else {
+                    appendArgument(sb, args[index], table);
+                }
+            }
+            sb.append(literals[literals.length - 1]);
+            return sb.toString();
+        }
+
+        // MessageFormat이 형식 지정 없는 인자를 쓰는 방식과 같다.
+        private static void appendArgument(StringBuilder sb, Object arg, LocaleTable table) {
+            if (arg == null) {
+                sb.append("null");
+            } else if (arg instanceof Number) {
+                sb.append(table.formatNumber(arg));
+            } else if (arg instanceof Date) {
+                sb.append(DateFormat.getDateTimeInstance(DateFormat.SHORT, DateFormat.SHORT, table.locale).format(arg));
+            } else {
+                sb.append(arg);
+            }
+        }
+    }
+}
@@ -0,0 +1,52 @@
+package hello.itemservice.validation;
+
+import javax.validation.Constraint;
+import javax.validation.Payload;
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Repeatable;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * 여러 필드로 계산한 값이 min 이상이어야 한다는 클래스 단위 규칙 (특정 필드가 아닌 글로벌 오류)
+ * 예) @ExpressionMin(code = "totalPriceMin", expression = "price * quantity", min = 10000)
+ *
+ * - expression : 정수 필드 이름, 정수 상수, + - * 와 괄호를 쓸 수 있다. long으로 계산하므로 int 곱셈이 넘쳐서 음수가 되지 않는다.
+ * - 식에 쓴 필드 중 하나라도 null이면 검사하지 않는다. (null은 필드 검증이 따로 오류를 낸다.)
+ * - 실패하면 errors.reject(code, new Object[]{min, 계산값}, null)로 오류를 남긴다.
+ *
+ * Bean Validation 제약이므로 @Validated, CompiledValidator가 다른 제약과 함께 검사한다. (ExpressionMinValidator)
+ * 오류 코드가 제약 이름(ExpressionMin)이 아니라 code가 되도록 SpringValidatorAdapter 대신
+ * ExpressionMinValidatorAdapter로 BindingResult에 옮긴다.
+ *
+ * 식은 클래스마다 처음 한 번만 MethodHandle로 컴파일해서 재사용한다. (ExpressionRules)
+ * 검증할 때마다 스크립트 엔진으로 식을 해석하는 @ScriptAssert 대신 쓴다.
+ */
+@Documented
+@Target(ElementType.TYPE)
+@Retention(RetentionPolicy.RUNTIME)
+@Repeatable(ExpressionMin.List.class)
+@Constraint(validatedBy = ExpressionMinValidator.class)
+public @interface ExpressionMin {
+
+    String code();
+
+    String expression();
+
+    int min();
+
+    String message() default "{expression}의 값은 {min} 이상이어야 합니다.";
+
+    Class<?>[] groups() default {};
+
+    Class<? extends Payload>[] payload() default {};
+
+    @Documented
+    @Target(ElementType.TYPE)
+    @Retention(RetentionPolicy.RUNTIME)
+    @interface List {
+        ExpressionMin[] value();
+    }
+}
@@ -0,0 +1,22 @@
+package hello.itemservice.validation;
+
+import javax.validation.ConstraintValidator;
+import javax.validation.ConstraintValidatorContext;
+
+/**
+ * @ExpressionMin 제약을 검사한다. 식은 다시 해석하지 않고 ExpressionRules가 컴파일해 둔 규칙을 쓴다.
+ */
+public class ExpressionMinValidator implements ConstraintValidator<ExpressionMin, Object> {
+
+    private ExpressionMin rule;
+
+    @Override
+    public void initialize(ExpressionMin rule) {
+        this.rule = rule;
+    }
+
+    @Override
+    public boolean isValid(Object value, ConstraintValidatorContext context) {
+        return value == null || ExpressionRules.isValid(value, rule);
+    }
+}
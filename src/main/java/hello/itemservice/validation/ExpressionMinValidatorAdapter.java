@@ -0,0 +1,47 @@
+package hello.itemservice.validation;
+
+import org.springframework.validation.Errors;
+import org.springframework.validation.beanvalidation.SpringValidatorAdapter;
+
+import javax.validation.ConstraintViolation;
+import javax.validation.Validator;
+import java.lang.annotation.Annotation;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * @ExpressionMin 위반을 ExpressionRules.validate()와 같은 글로벌 오류로 남기는 SpringValidatorAdapter.
+ * SpringValidatorAdapter는 제약 이름(ExpressionMin)을 오류 코드로, 제약 속성을 인자로 쓰므로
+ * code와 {min, 계산값} 인자를 남기려면 이 위반만 따로 옮겨야 한다. 나머지 위반은 SpringValidatorAdapter가 그대로 옮긴다.
+ *
+ * 필드 오류를 먼저 남기고 글로벌 오류를 나중에 남긴다. (컨트롤러에서 검증 후에 규칙을 검사하던 순서와 같다.)
+ */
+public class ExpressionMinValidatorAdapter extends SpringValidatorAdapter {
+
+    public ExpressionMinValidatorAdapter(Validator targetValidator) {
+        super(targetValidator);
+    }
+
+    @Override
+    protected void processConstraintViolations(Set<ConstraintViolation<Object>> violations, Errors errors) {
+        List<ConstraintViolation<Object>> rules = new ArrayList<>();
+        Set<ConstraintViolation<Object>> others = new LinkedHashSet<>();
+        for (ConstraintViolation<Object> violation : violations) {
+            // 중첩 객체(@Valid)의 규칙은 글로벌 오류로 남길 수 없으므로 기본 방식으로 옮긴다.
+            if (violation.getConstraintDescriptor().getAnnotation() instanceof ExpressionMin
+                    && violation.getPropertyPath().toString().isEmpty()) {
+                rules.add(violation);
+            } else {
+                others.add(violation);
+            }
+        }
+
+        super.processConstraintViolations(others, errors);
+        for (ConstraintViolation<Object> violation : rules) {
+            Annotation rule = violation.getConstraintDescriptor().getAnnotation();
+            ExpressionRules.reject(violation.getLeafBean(), (ExpressionMin) rule, errors);
+        }
+    }
+}
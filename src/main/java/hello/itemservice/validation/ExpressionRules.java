@@ -0,0 +1,387 @@
+package hello.itemservice.validation;
+
+import org.springframework.validation.Errors;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Predicate;
+
+/**
+ * 클래스에 붙은 @ExpressionMin 규칙을 검사한다.
+ *
+ * 클래스마다 처음 한 번만 식을 파싱해서 MethodHandle 조합으로 만든다.
+ * - 필드 => getter 호출 후 long으로 변환
+ * - + - * => Math.addExact, subtractExact, multiplyExact
+ * - 검사 => 필드가 모두 null이 아니면 (계산값 >= min), 아니면 통과
+ * 만든 MethodHandle은 JVM이 바이트코드로 만들어 JIT 컴파일하므로, 검증할 때는 식을 다시 해석하지 않는다.
+ * Bean Validation으로 검사할 때(ExpressionMinValidator)도 같은 규칙을 쓴다.
+ *
+ * 지원하지 않는 식이나 정수가 아닌 필드를 쓰면 처음 검사할 때 IllegalArgumentException이 발생한다.
+ */
+public final class ExpressionRules {
+
+    private static final MethodHandles.Lookup LOOKUP = MethodHandles.lookup();
+    private static final MethodType TEST_TYPE = MethodType.methodType(boolean.class, Object.class);
+    private static final MethodType VALUE_TYPE = MethodType.methodType(long.class, Object.class);
+    private static final MethodHandle ADD = arithmetic("addExact");
+    private static final MethodHandle SUBTRACT = arithmetic("subtractExact");
+    private static final MethodHandle MULTIPLY = arithmetic("multiplyExact");
+    private static final MethodHandle NON_NULL;
+    private static final MethodHandle AT_LEAST;
+
+    static {
+        try {
+            NON_NULL = LOOKUP.findStatic(Objects.class, "nonNull", MethodType.methodType(boolean.class, Object.class));
+            AT_LEAST = LOOKUP.findStatic(ExpressionRules.class, "atLeast",
+                    MethodType.methodType(boolean.class, long.class, long.class));
+        } catch (ReflectiveOperationException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
+    private static final ClassValue<ExpressionRules> RULES = new ClassValue<>() {
+        @Override
+        protected ExpressionRules computeValue(Class<?> type) {
+            return compile(type);
+        }
+    };
+
+    private final Rule[] rules;
+
+    private ExpressionRules(Rule[] rules) {
+        this.rules = rules;
+    }
+
+    /**
+     * target 클래스의 규칙을 검사해서 실패한 규칙마다 글로벌 오류를 남긴다. 규칙이 없으면 아무것도 하지 않는다.
+     */
+    public static void validate(Object target, Errors errors) {
+        RULES.get(target.getClass()).check(target, errors);
+    }
+
+    /**
+     * type의 규칙들이 읽는 필드 이름
+     */
+    public static Set<String> inputs(Class<?> type) {
+        Set<String> inputs = new LinkedHashSet<>();
+        for (Rule rule : RULES.get(type).rules) {
+            inputs.addAll(List.of(rule.inputs));
+        }
+        return inputs;
+    }
+
+    /**
+     * type의 규칙들. 처음 한 번만 컴파일하고 재사용한다.
+     */
+    public static ExpressionRules of(Class<?> type) {
+        return RULES.get(type);
+    }
+
+    public static ExpressionRules compile(Class<?> type) {
+        ExpressionMin[] annotations = type.getAnnotationsByType(ExpressionMin.class);
+        Rule[] rules = new Rule[annotations.length];
+        for (int i = 0; i < annotations.length; i++) {
+            rules[i] = new Parser(type, annotations[i]).rule();
+        }
+        return new ExpressionRules(rules);
+    }
+
+    /**
+     * target이 rule을 통과하는지 검사한다. (ExpressionMinValidator)
+     */
+    static boolean isValid(Object target, ExpressionMin rule) {
+        return find(target.getClass(), rule).test(target);
+    }
+
+    /**
+     * rule 위반을 글로벌 오류로 남긴다. (ExpressionMinValidatorAdapter)
+     */
+    static void reject(Object target, ExpressionMin rule, Errors errors) {
+        find(target.getClass(), rule).reject(target, errors);
+    }
+
+    /**
+     * filter를 통과한 규칙만 남긴다. 예) 검증 그룹에 속한 규칙만 검사할 때
+     */
+    public ExpressionRules select(Predicate<ExpressionMin> filter) {
+        List<Rule> selected = new ArrayList<>(rules.length);
+        for (Rule rule : rules) {
+            if (filter.test(rule.annotation)) {
+                selected.add(rule);
+            }
+        }
+        return new ExpressionRules(selected.toArray(new Rule[0]));
+    }
+
+    public void check(Object target, Errors errors) {
+        for (Rule rule : rules) {
+            rule.check(target, errors);
+        }
+    }
+
+    /**
+     * 입력 필드가 모두 skip.test(필드)이면 그 규칙은 검사하지 않는다. (바뀐 필드만 검사하는 수정 검증)
+     */
+    public void check(Object target, Errors errors, Predicate<String> skip) {
+        for (Rule rule : rules) {
+            if (!rule.skip(skip)) {
+                rule.check(target, errors);
+            }
+        }
+    }
+
+    /**
+     * 첫 번째로 실패한 규칙 하나만 오류로 남긴다. 오류를 남겼으면 true (빠른 실패 검증)
+     */
+    public boolean rejectFirst(Object target, Errors errors) {
+        for (Rule rule : rules) {
+            if (!rule.test(target)) {
+                rule.reject(target, errors);
+                return true;
+            }
+        }
+        return false;
+    }
+
+    // 상속한 규칙도 찾는다. Bean Validation은 상위 클래스의 제약도 검사한다.
+    private static Rule find(Class<?> type, ExpressionMin annotation) {
+        for (Class<?> c = type; c != null && c != Object.class; c = c.getSuperclass()) {
+            for (Rule rule : RULES.get(c).rules) {
+                if (rule.annotation == annotation || rule.annotation.equals(annotation)) {
+                    return rule;
+                }
+            }
+        }
+        throw new IllegalArgumentException("규칙을 찾을 수 없습니다. type=" + type.getName() + " rule=" + annotation);
+    }
+
+    // 기존 오류 인자와 같은 타입(Integer)으로 남기고, int 범위를 넘을 때만 Long을 쓴다.
+    private static Object argument(long value) {
+        return value == (int) value ? (Object) (int) value : (Object) value;
+    }
+
+    private static boolean atLeast(long value, long min) {
+        return value >= min;
+    }
+
+    private static MethodHandle arithmetic(String name) {
+        try {
+            return LOOKUP.findStatic(Math.class, name, MethodType.methodType(long.class, long.class, long.class));
+        } catch (ReflectiveOperationException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
+    private static final class Rule {
+
+        private final ExpressionMin annotation;
+        private final String code;
+        private final int min;
+        private final MethodHandle test;
+        private final MethodHandle value;
+        private final String[] inputs;
+
+        private Rule(ExpressionMin annotation, String code, int min, MethodHandle test, MethodHandle value, String[] inputs) {
+            this.annotation = annotation;
+            this.code = code;
+            this.min = min;
+            this.test = test;
+            this.value = value;
+            this.inputs = inputs;
+        }
+
+        private void check(Object target, Errors errors) {
+            if (!test(target)) {
+                reject(target, errors);
+            }
+        }
+
+        private void reject(Object target, Errors errors) {
+            errors.reject(code, new Object[]{min, argument(value(target))}, null);
+        }
+
+        private boolean skip(Predicate<String> skip) {
+            for (String input : inputs) {
+                if (!skip.test(input)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        private boolean test(Object target) {
+            try {
+                return (boolean) test.invokeExact(target);
+            } catch (RuntimeException | Error e) {
+                throw e;
+            } catch (Throwable e) {
+                throw new IllegalStateException(e);
+            }
+        }
+
+        private long value(Object target) {
+            try {
+                return (long) value.invokeExact(target);
+            } catch (RuntimeException | Error e) {
+                throw e;
+            } catch (Throwable e) {
+                throw new IllegalStateException(e);
+            }
+        }
+    }
+
+    /**
+     * expression := term (('+' | '-') term)*
+     * term       := factor ('*' factor)*
+     * factor     := 필드 이름 | 정수 | '(' expression ')'
+     */
+    private static final class Parser {
+
+        private final Class<?> type;
+        private final ExpressionMin annotation;
+        private final String source;
+        private final Map<String, MethodHandle> getters = new LinkedHashMap<>();
+        private int pos;
+
+        private Parser(Class<?> type, ExpressionMin annotation) {
+            this.type = type;
+            this.annotation = annotation;
+            this.source = annotation.expression();
+        }
+
+        private Rule rule() {
+            MethodHandle value = expression();
+            skipSpaces();
+            if (pos != source.length()) {
+                throw error("예상하지 못한 문자 '" + source.charAt(pos) + "'");
+            }
+
+            MethodHandle passes = MethodHandles.filterReturnValue(value,
+                    MethodHandles.insertArguments(AT_LEAST, 1, (long) annotation.min()));
+            MethodHandle test = MethodHandles.guardWithTest(nonNull(), passes,
+                    MethodHandles.dropArguments(MethodHandles.constant(boolean.class, true), 0, Object.class));
+            return new Rule(annotation, annotation.code(), annotation.min(), test, value, getters.keySet().toArray(new String[0]));
+        }
+
+        private MethodHandle expression() {
+            MethodHandle left = term();
+            while (true) {
+                if (accept('+')) {
+                    left = combine(ADD, left, term());
+                } else if (accept('-')) {
+                    left = combine(SUBTRACT, left, term());
+                } else {
+                    return left;
+                }
+            }
+        }
+
+        private MethodHandle term() {
+            MethodHandle left = factor();
+            while (accept('*')) {
+                left = combine(MULTIPLY, left, factor());
+            }
+            return left;
+        }
+
+        private MethodHandle factor() {
+            skipSpaces();
+            if (accept('(')) {
+                MethodHandle inner = expression();
+                if (!accept(')')) {
+                    throw error("')'가 필요합니다");
+                }
+                return inner;
+            }
+            int start = pos;
+            if (pos < source.length() && Character.isDigit(source.charAt(pos))) {
+                while (pos < source.length() && Character.isDigit(source.charAt(pos))) {
+                    pos++;
+                }
+                long constant = Long.parseLong(source.substring(start, pos));
+                return MethodHandles.dropArguments(MethodHandles.constant(long.class, constant), 0, Object.class);
+            }
+            while (pos < source.length() && Character.isJavaIdentifierPart(source.charAt(pos))) {
+                pos++;
+            }
+            if (start == pos) {
+                throw error("필드 이름이나 숫자가 필요합니다");
+            }
+            return getter(source.substring(start, pos)).asType(VALUE_TYPE);
+        }
+
+        private MethodHandle getter(String property) {
+            return getters.computeIfAbsent(property, name -> {
+                Method method;
+                try {
+                    method = type.getMethod("get" + Character.toUpperCase(name.charAt(0)) + name.substring(1));
+                } catch (NoSuchMethodException e) {
+                    throw error("필드 " + name + "의 getter가 없습니다");
+                }
+                Class<?> returnType = method.getReturnType();
+                if (returnType != Integer.class && returnType != Long.class && returnType != Short.class
+                        && returnType != Byte.class && returnType != int.class && returnType != long.class
+                        && returnType != short.class && returnType != byte.class) {
+                    throw error("필드 " + name + "는 정수 타입이 아닙니다 (" + returnType.getName() + ")");
+                }
+                try {
+                    return LOOKUP.unreflect(method);
+                } catch (IllegalAccessException e) {
+                    throw error("필드 " + name + "의 getter에 접근할 수 없습니다");
+                }
+            });
+        }
+
+        // 식에 쓴 필드가 모두 null이 아니면 true (기본형 필드는 검사하지 않는다.)
+        private MethodHandle nonNull() {
+            MethodHandle result = MethodHandles.dropArguments(MethodHandles.constant(boolean.class, true), 0, Object.class);
+            List<MethodHandle> handles = new ArrayList<>(getters.values());
+            for (int i = handles.size() - 1; i >= 0; i--) {
+                MethodHandle getter = handles.get(i);
+                if (getter.type().returnType().isPrimitive()) {
+                    continue;
+                }
+                MethodHandle isNonNull = MethodHandles.filterReturnValue(
+                        getter.asType(MethodType.methodType(Object.class, Object.class)), NON_NULL);
+                result = MethodHandles.guardWithTest(isNonNull, result,
+                        MethodHandles.dropArguments(MethodHandles.constant(boolean.class, false), 0, Object.class));
+            }
+            return result;
+        }
+
+        // (Object)long 두 개를 op로 합쳐서 (Object)long 하나로 만든다.
+        private MethodHandle combine(MethodHandle op, MethodHandle left, MethodHandle right) {
+            MethodHandle both = MethodHandles.filterArguments(op, 0, left, right);
+            return MethodHandles.permuteArguments(both, VALUE_TYPE, 0, 0);
+        }
+
+        private boolean accept(char c) {
+            skipSpaces();
+            if (pos < source.length() && source.charAt(pos) == c) {
+                pos++;
+                return true;
+            }
+            return false;
+        }
+
+        private void skipSpaces() {
+            while (pos < source.length() && Character.isWhitespace(source.charAt(pos))) {
+                pos++;
+            }
+        }
+
+        private IllegalArgumentException error(String message) {
+            return new IllegalArgumentException(type.getSimpleName() + " @ExpressionMin(\"" + source + "\") "
+                    + message + " (위치 " + pos + ")");
+        }
+    }
+}
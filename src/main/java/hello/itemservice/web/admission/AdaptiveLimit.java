@@ -0,0 +1,56 @@
+package hello.itemservice.web.admission;
+
+/**
+ * 관측한 지연 시간으로 동시 처리 한도를 조정한다. (gradient 방식)
+ * - 기준 지연 : 지금까지 본 가장 짧은 지연. 더 긴 표본이 오면 차이의 1/1024씩 올라가서 환경이 바뀌어도 따라간다.
+ * - gradient : TOLERANCE * 기준 지연 / 표본 지연 을 0.5 ~ 1 로 자른 값.
+ *   지연이 기준의 2배 이내면 1이라 한도를 sqrt(한도)만큼 늘리고, 그보다 느려지면 비율만큼 줄인다.
+ * - 한도의 절반도 쓰지 않는 동안에는 늘리지 않는다. (한가할 때 한도가 끝없이 커지지 않게)
+ * 새 한도는 SMOOTHING 비율로만 반영하고 [minLimit, maxLimit] 안에 둔다.
+ */
+class AdaptiveLimit {
+
+    static final double TOLERANCE = 2.0;
+    static final double SMOOTHING = 0.2;
+
+    private final int minLimit;
+    private final int maxLimit;
+    private volatile int limit;
+    private double estimate;
+    private long baselineNanos = Long.MAX_VALUE;
+
+    AdaptiveLimit(int initialLimit, int minLimit, int maxLimit) {
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.estimate = Math.max(minLimit, Math.min(initialLimit, maxLimit));
+        this.limit = (int) estimate;
+    }
+
+    int get() {
+        return limit;
+    }
+
+    synchronized long baselineNanos() {
+        return baselineNanos == Long.MAX_VALUE ? 0 : baselineNanos;
+    }
+
+    /**
+     * 처리를 마친 요청 하나의 지연 시간과, 그 요청이 시작할 때 처리 중이던 요청 수(자기 포함)를 반영한다.
+     */
+    synchronized void onSample(long latencyNanos, int inflight) {
+        long latency = Math.max(latencyNanos, 1);
+        if (latency < baselineNanos) {
+            baselineNanos = latency;
+        } else {
+            baselineNanos += (latency - baselineNanos) >> 10;
+        }
+
+        double gradient = Math.max(0.5, Math.min(1.0, TOLERANCE * baselineNanos / latency));
+        if (gradient >= 1.0 && inflight < estimate / 2) {
+            return;
+        }
+        double target = estimate * gradient + Math.sqrt(estimate);
+        estimate = Math.max(minLimit, Math.min(maxLimit, estimate * (1 - SMOOTHING) + target * SMOOTHING));
+        limit = (int) estimate;
+    }
+}
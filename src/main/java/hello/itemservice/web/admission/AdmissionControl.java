@@ -0,0 +1,187 @@
+package hello.itemservice.web.admission;
+
+import lombok.Getter;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 등록(POST) 요청의 입장 제어. (item.admission.enabled=true 일 때만 빈으로 등록된다.)
+ * - 클라이언트별 토큰 버킷 : 한 클라이언트(대량 등록 피드 등)가 초당 clientRate개, 최대 clientBurst개까지만 보낸다. 넘으면 429
+ * - 엔드포인트별 동시 처리 한도 : 처리 중인 요청이 한도(AdaptiveLimit)에 닿으면 줄 세우지 않고 바로 503
+ *   한도는 처리 지연을 보고 스스로 늘고 줄어든다.
+ * 동시 처리 한도를 먼저 보고 클라이언트 토큰은 그다음에 꺼낸다. 503으로 거절된 요청은 토큰을 쓰지 않는다.
+ * 엔드포인트별로 입장(admitted), 거절(rateLimited, overloaded) 건수를 세서 임계값 조정에 쓴다. (GET /validation/admission)
+ *
+ * 클라이언트 버킷은 MAX_CLIENTS개까지 둔다. 가득 찬(한동안 조용한) 버킷은 SWEEP_INTERVAL마다 한 번,
+ * 새 클라이언트를 받는 요청 하나가 지운다. (요청마다 전체를 훑지 않는다.)
+ * 그래도 자리가 없으면 새 클라이언트는 버킷 없이 동시 처리 한도만 적용하고 untracked로 센다.
+ * 주소를 바꿔 가며 보내는 쪽 때문에 다른 새 클라이언트까지 429를 받지 않게 하려는 것이다.
+ */
+public class AdmissionControl {
+
+    static final int MAX_CLIENTS = 10_000;
+    static final long SWEEP_INTERVAL_NANOS = TimeUnit.SECONDS.toNanos(1);
+
+    private final int initialLimit;
+    private final int minLimit;
+    private final int maxLimit;
+    private final double clientRate;
+    private final double clientBurst;
+    private final ConcurrentMap<String, Endpoint> endpoints = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, TokenBucket> clients = new ConcurrentHashMap<>();
+    private final AtomicLong nextSweep = new AtomicLong(System.nanoTime() + SWEEP_INTERVAL_NANOS);
+
+    public AdmissionControl(int initialLimit, int minLimit, int maxLimit, double clientRate, double clientBurst) {
+        this.initialLimit = initialLimit;
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.clientRate = clientRate;
+        this.clientBurst = clientBurst;
+    }
+
+    public Endpoint endpoint(String name) {
+        return endpoints.computeIfAbsent(name, key -> new Endpoint(key, new AdaptiveLimit(initialLimit, minLimit, maxLimit)));
+    }
+
+    /**
+     * 동시 처리 한도 안에 들어온(Endpoint.tryAcquire) 요청의 클라이언트 토큰을 하나 꺼낸다.
+     * 꺼냈으면 입장(admitted)으로 세고 0, 없으면 rateLimited로 세고 다음 토큰까지 남은 시간(ns)을 돌려준다.
+     */
+    public long admitClient(String client, Endpoint endpoint, long now) {
+        TokenBucket bucket = clients.get(client);
+        if (bucket == null) {
+            sweepIfDue(now);
+            if (clients.size() < MAX_CLIENTS) {
+                bucket = clients.computeIfAbsent(client, key -> new TokenBucket(clientRate, clientBurst, now));
+            } else {
+                endpoint.untracked.increment();
+            }
+        }
+        long waitNanos = bucket == null ? 0 : bucket.tryAcquire(now);
+        if (waitNanos > 0) {
+            endpoint.rateLimited.increment();
+        } else {
+            endpoint.admitted.increment();
+        }
+        return waitNanos;
+    }
+
+    int clientCount() {
+        return clients.size();
+    }
+
+    /**
+     * SWEEP_INTERVAL이 지났으면 한가한 버킷을 지운다. 같은 주기에는 먼저 온 요청 하나만 훑는다.
+     */
+    void sweepIfDue(long now) {
+        long due = nextSweep.get();
+        if (now - due < 0 || !nextSweep.compareAndSet(due, now + SWEEP_INTERVAL_NANOS)) {
+            return;
+        }
+        clients.values().removeIf(idle -> idle.isFull(now));
+    }
+
+    public List<Stats> stats() {
+        List<Stats> result = new ArrayList<>();
+        endpoints.values().forEach(endpoint -> result.add(endpoint.stats()));
+        result.sort(Comparator.comparing(Stats::getEndpoint));
+        return result;
+    }
+
+    public void clear() {
+        endpoints.values().forEach(Endpoint::clear);
+    }
+
+    /**
+     * 엔드포인트 하나의 동시 처리 한도와 건수.
+     */
+    public static class Endpoint {
+
+        private final String name;
+        private final AdaptiveLimit limit;
+        private final AtomicInteger inflight = new AtomicInteger();
+        private final LongAdder admitted = new LongAdder();
+        private final LongAdder rateLimited = new LongAdder();
+        private final LongAdder overloaded = new LongAdder();
+        private final LongAdder untracked = new LongAdder();
+
+        Endpoint(String name, AdaptiveLimit limit) {
+            this.name = name;
+            this.limit = limit;
+        }
+
+        /**
+         * 한도 안이면 처리 중 요청 수를 올리고 그 값을 돌려준다. 한도에 닿았으면 0을 돌려준다. (503)
+         */
+        public int tryAcquire() {
+            int current = inflight.incrementAndGet();
+            if (current > limit.get()) {
+                inflight.decrementAndGet();
+                overloaded.increment();
+                return 0;
+            }
+            return current;
+        }
+
+        /**
+         * tryAcquire()로 잡은 자리를 처리하지 않고 돌려준다. (클라이언트 토큰이 없어서 429로 거절할 때)
+         * 처리하지 않았으므로 지연 표본으로 쓰지 않는다.
+         */
+        public void cancel() {
+            inflight.decrementAndGet();
+        }
+
+        /**
+         * 처리를 마쳤다. acquired는 tryAcquire()가 돌려준 값이다.
+         */
+        public void release(int acquired, long latencyNanos) {
+            inflight.decrementAndGet();
+            limit.onSample(latencyNanos, acquired);
+        }
+
+        Stats stats() {
+            return new Stats(name, limit.get(), inflight.get(), admitted.sum(), rateLimited.sum(), overloaded.sum(),
+                    untracked.sum(), limit.baselineNanos() / 1000);
+        }
+
+        void clear() {
+            admitted.reset();
+            rateLimited.reset();
+            overloaded.reset();
+            untracked.reset();
+        }
+    }
+
+    @Getter
+    public static class Stats {
+
+        private final String endpoint;
+        private final int limit;
+        private final int inflight;
+        private final long admitted;
+        private final long rateLimited;
+        private final long overloaded;
+        private final long untracked;
+        private final long baselineMicros;
+
+        Stats(String endpoint, int limit, int inflight, long admitted, long rateLimited, long overloaded,
+              long untracked, long baselineMicros) {
+            this.endpoint = endpoint;
+            this.limit = limit;
+            this.inflight = inflight;
+            this.admitted = admitted;
+            this.rateLimited = rateLimited;
+            this.overloaded = overloaded;
+            this.untracked = untracked;
+            this.baselineMicros = baselineMicros;
+        }
+    }
+}
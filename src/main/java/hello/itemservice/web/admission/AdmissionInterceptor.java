@@ -0,0 +1,75 @@
+package hello.itemservice.web.admission;
+
+import hello.itemservice.web.validation.metrics.ValidationMetrics;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 등록(POST) 요청을 컨트롤러에 넘기기 전에 입장 제어(AdmissionControl)를 한다.
+ * 요청 본문을 읽거나 바인딩하기 전이므로 거절하는 비용이 작다. 거절 응답에는 본문 없이 Retry-After(초)만 준다.
+ * - 503 : 엔드포인트가 동시 처리 한도에 닿았다. Retry-After = 1 (클라이언트 토큰은 쓰지 않는다.)
+ * - 429 : 클라이언트의 토큰이 없다. Retry-After = 다음 토큰이 찰 때까지
+ * 클라이언트는 요청한 주소(remoteAddr)로 구분한다.
+ */
+public class AdmissionInterceptor implements HandlerInterceptor {
+
+    static final String PERMIT = AdmissionInterceptor.class.getName() + ".PERMIT";
+    static final String ACQUIRED = AdmissionInterceptor.class.getName() + ".ACQUIRED";
+    static final String STARTED = AdmissionInterceptor.class.getName() + ".STARTED";
+
+    private final AdmissionControl admissionControl;
+
+    public AdmissionInterceptor(AdmissionControl admissionControl) {
+        this.admissionControl = admissionControl;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (!"POST".equals(request.getMethod())) {
+            return true;
+        }
+        AdmissionControl.Endpoint endpoint = admissionControl.endpoint(ValidationMetrics.endpoint(request));
+        long now = System.nanoTime();
+
+        int acquired = endpoint.tryAcquire();
+        if (acquired == 0) {
+            reject(response, HttpStatus.SERVICE_UNAVAILABLE, 1);
+            return false;
+        }
+
+        long waitNanos = admissionControl.admitClient(request.getRemoteAddr(), endpoint, now);
+        if (waitNanos > 0) {
+            endpoint.cancel();
+            reject(response, HttpStatus.TOO_MANY_REQUESTS, Math.max(1, divideCeil(waitNanos, TimeUnit.SECONDS.toNanos(1))));
+            return false;
+        }
+        request.setAttribute(PERMIT, endpoint);
+        request.setAttribute(ACQUIRED, acquired);
+        request.setAttribute(STARTED, now);
+        return true;
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+        AdmissionControl.Endpoint endpoint = (AdmissionControl.Endpoint) request.getAttribute(PERMIT);
+        if (endpoint == null) {
+            return;
+        }
+        request.removeAttribute(PERMIT);
+        endpoint.release((Integer) request.getAttribute(ACQUIRED), System.nanoTime() - (Long) request.getAttribute(STARTED));
+    }
+
+    private static void reject(HttpServletResponse response, HttpStatus status, long retryAfterSeconds) {
+        response.setStatus(status.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSeconds));
+    }
+
+    private static long divideCeil(long value, long divisor) {
+        return (value + divisor - 1) / divisor;
+    }
+}
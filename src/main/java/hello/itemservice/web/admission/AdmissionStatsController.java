@@ -0,0 +1,44 @@
+package hello.itemservice.web.admission;
+
+import hello.itemservice.web.validation.metrics.ValidationMetricsController;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.ResponseStatus;
+import org.springframework.web.bind.annotation.RestController;
+
+import javax.servlet.http.HttpServletRequest;
+import java.util.List;
+
+/**
+ * 입장 제어 현황. 같은 서버(loopback)에서 온 요청만 받는다.
+ *
+ * GET /validation/admission
+ * [{"endpoint":"POST /validation/api/items/add","limit":34,"inflight":3,"admitted":1200,
+ *   "rateLimited":310,"overloaded":12,"untracked":0,"baselineMicros":180}, ...]
+ * DELETE /validation/admission => 건수 초기화 (한도는 그대로 둔다.)
+ */
+@RestController
+@ConditionalOnProperty(name = "item.admission.enabled", havingValue = "true")
+@RequestMapping("/validation/admission")
+@RequiredArgsConstructor
+public class AdmissionStatsController {
+
+    private final AdmissionControl admissionControl;
+
+    @GetMapping
+    public List<AdmissionControl.Stats> stats(HttpServletRequest request) {
+        ValidationMetricsController.checkLocal(request);
+        return admissionControl.stats();
+    }
+
+    @DeleteMapping
+    @ResponseStatus(HttpStatus.NO_CONTENT)
+    public void clear(HttpServletRequest request) {
+        ValidationMetricsController.checkLocal(request);
+        admissionControl.clear();
+    }
+}
@@ -0,0 +1,47 @@
+package hello.itemservice.web.admission;
+
+/**
+ * 클라이언트 하나의 토큰 버킷. 초당 rate개씩 최대 burst개까지 토큰이 찬다. 요청 하나가 토큰 하나를 쓴다.
+ * 시간은 호출하는 쪽이 System.nanoTime()으로 넘긴다. (테스트에서 시간을 정할 수 있다.)
+ */
+class TokenBucket {
+
+    private final double tokensPerNano;
+    private final double burst;
+    private double tokens;
+    private long refilledAt;
+
+    TokenBucket(double ratePerSecond, double burst, long now) {
+        this.tokensPerNano = ratePerSecond / 1_000_000_000d;
+        this.burst = burst;
+        this.tokens = burst;
+        this.refilledAt = now;
+    }
+
+    /**
+     * 토큰을 하나 꺼낸다. 꺼냈으면 0, 없으면 다음 토큰이 찰 때까지 남은 시간(ns)을 돌려준다.
+     */
+    synchronized long tryAcquire(long now) {
+        refill(now);
+        if (tokens >= 1) {
+            tokens -= 1;
+            return 0;
+        }
+        return (long) Math.ceil((1 - tokens) / tokensPerNano);
+    }
+
+    /**
+     * 버킷이 가득 찼으면 한동안 요청이 없었던 클라이언트다. (지워도 다시 만들면 같은 상태다.)
+     */
+    synchronized boolean isFull(long now) {
+        refill(now);
+        return tokens >= burst;
+    }
+
+    private void refill(long now) {
+        if (now > refilledAt) {
+            tokens = Math.min(burst, tokens + (now - refilledAt) * tokensPerNano);
+            refilledAt = now;
+        }
+    }
+}
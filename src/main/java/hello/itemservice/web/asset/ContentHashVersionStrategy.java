@@ -0,0 +1,71 @@
+package hello.itemservice.web.asset;
+
+import org.springframework.core.io.Resource;
+import org.springframework.lang.Nullable;
+import org.springframework.util.DigestUtils;
+import org.springframework.util.FileCopyUtils;
+import org.springframework.util.StringUtils;
+import org.springframework.web.servlet.resource.AbstractVersionStrategy;
+import org.springframework.web.servlet.resource.VersionPathStrategy;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * 파일 내용의 MD5를 파일 이름에 넣는 버전 전략. 예) bootstrap.min.css => bootstrap.min-<md5 32자>.css
+ * 빌드(processResources)가 만드는 지문 파일 이름과 같은 규칙이다.
+ *
+ * 스프링의 ContentVersionStrategy와 해시는 같지만, 버전을 "-" 뒤의 아무 문자열로 보지 않고 확장자 바로 앞의
+ * 32자리 16진수만 버전으로 본다. (item-validation.js의 "validation"을 버전으로 잘못 읽지 않는다.)
+ */
+public class ContentHashVersionStrategy extends AbstractVersionStrategy {
+
+    private static final Pattern VERSION = Pattern.compile("-([0-9a-f]{32})(\\.[^./]+)$");
+
+    public ContentHashVersionStrategy() {
+        super(new ContentHashPathStrategy());
+    }
+
+    /**
+     * 지문이 붙은 경로인지 확인한다.
+     */
+    public static boolean isVersioned(String path) {
+        return VERSION.matcher(path).find();
+    }
+
+    @Override
+    public String getResourceVersion(Resource resource) {
+        try {
+            return DigestUtils.md5DigestAsHex(FileCopyUtils.copyToByteArray(resource.getInputStream()));
+        } catch (IOException e) {
+            throw new UncheckedIOException("정적 파일 해시 계산 실패 " + resource, e);
+        }
+    }
+
+    private static class ContentHashPathStrategy implements VersionPathStrategy {
+
+        @Override
+        @Nullable
+        public String extractVersion(String requestPath) {
+            Matcher matcher = VERSION.matcher(requestPath);
+            return matcher.find() ? matcher.group(1) : null;
+        }
+
+        @Override
+        public String removeVersion(String requestPath, String version) {
+            Matcher matcher = VERSION.matcher(requestPath);
+            return matcher.find() ? requestPath.substring(0, matcher.start()) + matcher.group(2) : requestPath;
+        }
+
+        @Override
+        public String addVersion(String requestPath, String version) {
+            String extension = StringUtils.getFilenameExtension(requestPath);
+            if (extension == null) {
+                return requestPath + '-' + version;
+            }
+            return StringUtils.stripFilenameExtension(requestPath) + '-' + version + '.' + extension;
+        }
+    }
+}
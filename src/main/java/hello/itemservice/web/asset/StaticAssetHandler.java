@@ -0,0 +1,68 @@
+package hello.itemservice.web.asset;
+
+import org.springframework.cache.concurrent.ConcurrentMapCache;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.core.io.Resource;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.web.servlet.HandlerMapping;
+import org.springframework.web.servlet.resource.CachingResourceResolver;
+import org.springframework.web.servlet.resource.EncodedResourceResolver;
+import org.springframework.web.servlet.resource.PathResourceResolver;
+import org.springframework.web.servlet.resource.ResourceHttpRequestHandler;
+import org.springframework.web.servlet.resource.VersionResourceResolver;
+
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 정적 파일(css, js) 핸들러. 빌드가 만들어 둔 지문 파일과 압축본을 그대로 보낸다.
+ * - 지문 : /css/bootstrap.min-<md5>.css 처럼 내용 해시가 붙은 경로. 템플릿의 @{/css/bootstrap.min.css}는
+ *   ResourceUrlEncodingFilter가 이 경로로 바꿔 준다. (VersionResourceResolver + ContentHashVersionStrategy)
+ * - 압축 : Accept-Encoding에 br, gzip이 있으면 옆에 있는 .br, .gz 파일을 보낸다. (EncodedResourceResolver)
+ * - 캐시 : 지문이 붙은 경로는 내용이 바뀌지 않으므로 1년 immutable, 붙지 않은 경로는 매번 재검증(no-cache)한다.
+ *   파일을 찾았을 때만 붙인다. 없는 지문 경로의 404가 1년 캐시되면 배포 중에 CDN과 브라우저에 남기 때문이다.
+ * - 전송 : 디스크에 있는 파일은 sendfile로 보낸다. (SendfileResourceHttpMessageConverter)
+ */
+public class StaticAssetHandler extends ResourceHttpRequestHandler {
+
+    static final String IMMUTABLE = CacheControl.maxAge(365, TimeUnit.DAYS).cachePublic().getHeaderValue() + ", immutable";
+    static final String REVALIDATE = CacheControl.noCache().getHeaderValue();
+    static final String RESOLVED = StaticAssetHandler.class.getName() + ".RESOLVED";
+
+    public StaticAssetHandler(String location) {
+        setLocations(List.of(new ClassPathResource(location)));
+        setResourceResolvers(List.of(
+                new CachingResourceResolver(new ConcurrentMapCache(location)),
+                new EncodedResourceResolver(),
+                new VersionResourceResolver().addVersionStrategy(new ContentHashVersionStrategy(), "/**"),
+                new PathResourceResolver()));
+        setResourceHttpMessageConverter(new SendfileResourceHttpMessageConverter());
+    }
+
+    @Override
+    public void handleRequest(HttpServletRequest request, HttpServletResponse response)
+            throws ServletException, IOException {
+        Resource resource = getResource(request);
+        if (resource == null) {
+            response.sendError(HttpServletResponse.SC_NOT_FOUND);
+            return;
+        }
+        // 찾은 파일은 super.handleRequest가 다시 찾지 않도록 넘겨 둔다. (getResource)
+        request.setAttribute(RESOLVED, resource);
+        String path = (String) request.getAttribute(HandlerMapping.PATH_WITHIN_HANDLER_MAPPING_ATTRIBUTE);
+        boolean versioned = path != null && ContentHashVersionStrategy.isVersioned(path);
+        response.setHeader(HttpHeaders.CACHE_CONTROL, versioned ? IMMUTABLE : REVALIDATE);
+        super.handleRequest(request, response);
+    }
+
+    @Override
+    protected Resource getResource(HttpServletRequest request) throws IOException {
+        Resource resolved = (Resource) request.getAttribute(RESOLVED);
+        return resolved != null ? resolved : super.getResource(request);
+    }
+}
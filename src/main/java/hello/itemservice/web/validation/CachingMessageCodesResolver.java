@@ -0,0 +1,100 @@
+package hello.itemservice.web.validation;
+
+import org.springframework.lang.Nullable;
+import org.springframework.validation.DefaultMessageCodesResolver;
+import org.springframework.validation.MessageCodesResolver;
+
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * DefaultMessageCodesResolver가 만든 메시지 코드 배열을 캐시한다.
+ *
+ * rejectValue/reject를 할 때마다 "required.item.itemName" 같은 코드 문자열 4개를 새로 이어 붙이지만,
+ * 입력(오류 코드, 객체 이름, 필드, 필드 타입)의 조합은 몇 개 되지 않으므로 한 번 만든 배열을 같이 쓴다.
+ * 반환한 배열은 여러 오류가 공유하므로 수정하면 안 된다.
+ * 예상하지 못한 입력으로 캐시가 계속 커지지 않도록 MAX_ENTRIES를 넘으면 캐시하지 않고 만들어서 반환한다.
+ */
+public class CachingMessageCodesResolver implements MessageCodesResolver {
+
+    static final int MAX_ENTRIES = 4096;
+
+    private final MessageCodesResolver delegate;
+    private final ConcurrentMap<Key, String[]> cache = new ConcurrentHashMap<>();
+
+    public CachingMessageCodesResolver() {
+        this(new DefaultMessageCodesResolver());
+    }
+
+    public CachingMessageCodesResolver(MessageCodesResolver delegate) {
+        this.delegate = delegate;
+    }
+
+    @Override
+    public String[] resolveMessageCodes(String errorCode, String objectName) {
+        Key key = new Key(errorCode, objectName, null, null);
+        String[] codes = cache.get(key);
+        if (codes == null) {
+            codes = delegate.resolveMessageCodes(errorCode, objectName);
+            cache(key, codes);
+        }
+        return codes;
+    }
+
+    @Override
+    public String[] resolveMessageCodes(String errorCode, String objectName, String field, @Nullable Class<?> fieldType) {
+        Key key = new Key(errorCode, objectName, field, fieldType);
+        String[] codes = cache.get(key);
+        if (codes == null) {
+            codes = delegate.resolveMessageCodes(errorCode, objectName, field, fieldType);
+            cache(key, codes);
+        }
+        return codes;
+    }
+
+    int size() {
+        return cache.size();
+    }
+
+    private void cache(Key key, String[] codes) {
+        if (cache.size() < MAX_ENTRIES) {
+            cache.putIfAbsent(key, codes);
+        }
+    }
+
+    private static final class Key {
+
+        private final String errorCode;
+        private final String objectName;
+        private final String field;
+        private final Class<?> fieldType;
+        private final int hash;
+
+        Key(String errorCode, String objectName, String field, Class<?> fieldType) {
+            this.errorCode = errorCode;
+            this.objectName = objectName;
+            this.field = field;
+            this.fieldType = fieldType;
+            this.hash = Objects.hash(errorCode, objectName, field, fieldType);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof Key)) {
+                return false;
+            }
+            Key other = (Key) o;
+            return Objects.equals(errorCode, other.errorCode) && Objects.equals(objectName, other.objectName)
+                    && Objects.equals(field, other.field) && fieldType == other.fieldType;
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+}
@@ -0,0 +1,159 @@
+package hello.itemservice.web.validation;
+
+import hello.itemservice.validation.ExpressionMin;
+import lombok.Getter;
+import org.hibernate.validator.constraints.Length;
+import org.hibernate.validator.constraints.Range;
+import org.springframework.stereotype.Component;
+
+import javax.validation.ValidatorFactory;
+import javax.validation.constraints.Max;
+import javax.validation.constraints.Min;
+import javax.validation.constraints.NotBlank;
+import javax.validation.constraints.NotEmpty;
+import javax.validation.constraints.NotNull;
+import javax.validation.constraints.Size;
+import javax.validation.groups.Default;
+import javax.validation.metadata.ConstraintDescriptor;
+import javax.validation.metadata.PropertyDescriptor;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * 폼 클래스의 Bean Validation 메타데이터를 HTML5 제약 속성으로 바꾼다. (addForm.html, editForm.html)
+ * - NotNull, NotEmpty => required
+ * - NotBlank => required, pattern(공백만 입력 불가)
+ * - Min, Max, Range => min, max
+ * - Size, Length => minlength, maxlength
+ * - @ExpressionMin => rules (item-validation.js가 제출 전에 검사한다.)
+ * 그 밖의 제약은 브라우저에서 검사하지 않는다. 브라우저 검사는 잘못된 요청을 줄이기 위한 것이고,
+ * 서버 검증은 그대로 하므로 속성을 지우거나 스크립트를 끄고 제출해도 서버가 같은 오류를 낸다.
+ *
+ * 메타데이터는 (폼 클래스, 그룹)마다 처음 한 번만 읽어서 보관한다.
+ */
+@Component
+public class ClientConstraints {
+
+    private static final String NOT_BLANK_PATTERN = ".*\\S.*";
+
+    private final ValidatorFactory validatorFactory;
+    private final ConcurrentMap<List<Class<?>>, FormConstraints> cache = new ConcurrentHashMap<>();
+
+    public ClientConstraints(ValidatorFactory validatorFactory) {
+        this.validatorFactory = validatorFactory;
+    }
+
+    /**
+     * groups를 생략하면 기본 그룹(Default)의 제약을 쓴다.
+     */
+    public FormConstraints of(Class<?> formClass, Class<?>... groups) {
+        List<Class<?>> key = new ArrayList<>();
+        key.add(formClass);
+        Collections.addAll(key, groups.length == 0 ? new Class<?>[]{Default.class} : groups);
+        return cache.computeIfAbsent(key, k -> read(formClass, Set.copyOf(k.subList(1, k.size()))));
+    }
+
+    private FormConstraints read(Class<?> formClass, Set<Class<?>> groups) {
+        Map<String, FieldConstraints> fields = new HashMap<>();
+        for (PropertyDescriptor property : validatorFactory.getValidator()
+                .getConstraintsForClass(formClass).getConstrainedProperties()) {
+            FieldConstraints field = new FieldConstraints();
+            for (ConstraintDescriptor<?> descriptor : property.getConstraintDescriptors()) {
+                if (descriptor.getGroups().stream().anyMatch(groups::contains)) {
+                    field.add(descriptor);
+                }
+            }
+            fields.put(property.getPropertyName(), field);
+        }
+
+        List<Rule> rules = new ArrayList<>();
+        for (ExpressionMin rule : formClass.getAnnotationsByType(ExpressionMin.class)) {
+            rules.add(new Rule(rule.code(), rule.expression(), rule.min()));
+        }
+        return new FormConstraints(fields, rules);
+    }
+
+    public static class FormConstraints {
+
+        private static final FieldConstraints NONE = new FieldConstraints();
+
+        private final Map<String, FieldConstraints> fields;
+        @Getter
+        private final List<Rule> rules;
+
+        FormConstraints(Map<String, FieldConstraints> fields, List<Rule> rules) {
+            this.fields = Map.copyOf(fields);
+            this.rules = List.copyOf(rules);
+        }
+
+        /**
+         * 제약이 없는 필드는 속성이 모두 비어 있는 값을 반환한다. (타임리프에서 null이면 속성을 출력하지 않는다.)
+         */
+        public FieldConstraints field(String name) {
+            return fields.getOrDefault(name, NONE);
+        }
+    }
+
+    @Getter
+    public static class FieldConstraints {
+
+        private boolean required;
+        private String pattern;
+        private Long min;
+        private Long max;
+        private Integer minlength;
+        private Integer maxlength;
+
+        private void add(ConstraintDescriptor<?> descriptor) {
+            Class<?> annotation = descriptor.getAnnotation().annotationType();
+            Map<String, Object> attributes = descriptor.getAttributes();
+            if (annotation == NotNull.class || annotation == NotEmpty.class) {
+                required = true;
+            } else if (annotation == NotBlank.class) {
+                required = true;
+                pattern = NOT_BLANK_PATTERN;
+            } else if (annotation == Min.class) {
+                min = max(min, (Long) attributes.get("value"));
+            } else if (annotation == Max.class) {
+                max = min(max, (Long) attributes.get("value"));
+            } else if (annotation == Range.class) {
+                min = max(min, (Long) attributes.get("min"));
+                max = min(max, (Long) attributes.get("max"));
+            } else if (annotation == Size.class || annotation == Length.class) {
+                int minLength = (Integer) attributes.get("min");
+                int maxLength = (Integer) attributes.get("max");
+                minlength = minLength == 0 ? null : minLength;
+                maxlength = maxLength == Integer.MAX_VALUE ? null : maxLength;
+            }
+        }
+
+        // 같은 필드에 제약이 여러 개면 더 좁은 범위를 쓴다.
+        private static Long max(Long current, Long value) {
+            return current == null ? value : Long.valueOf(Math.max(current, value));
+        }
+
+        private static Long min(Long current, Long value) {
+            return current == null ? value : Long.valueOf(Math.min(current, value));
+        }
+    }
+
+    @Getter
+    public static class Rule {
+
+        private final String code;
+        private final String expression;
+        private final int min;
+
+        Rule(String code, String expression, int min) {
+            this.code = code;
+            this.expression = expression;
+            this.min = min;
+        }
+    }
+}
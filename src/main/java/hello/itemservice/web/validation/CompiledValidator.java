@@ -0,0 +1,372 @@
+package hello.itemservice.web.validation;
+
+import hello.itemservice.validation.ExpressionMin;
+import hello.itemservice.validation.ExpressionMinValidatorAdapter;
+import hello.itemservice.validation.ExpressionRules;
+import org.hibernate.validator.constraints.Range;
+import org.springframework.beans.BeanUtils;
+import org.springframework.context.i18n.LocaleContextHolder;
+import org.springframework.context.support.DefaultMessageSourceResolvable;
+import org.springframework.validation.BindingResult;
+import org.springframework.validation.Errors;
+import org.springframework.validation.FieldError;
+import org.springframework.validation.SmartValidator;
+import org.springframework.validation.Validator;
+import org.springframework.validation.beanvalidation.SpringValidatorAdapter;
+
+import javax.validation.MessageInterpolator;
+import javax.validation.ValidationException;
+import javax.validation.ValidatorFactory;
+import javax.validation.constraints.Max;
+import javax.validation.constraints.Min;
+import javax.validation.constraints.NotBlank;
+import javax.validation.constraints.NotNull;
+import javax.validation.groups.Default;
+import javax.validation.metadata.BeanDescriptor;
+import javax.validation.metadata.ConstraintDescriptor;
+import javax.validation.metadata.PropertyDescriptor;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Predicate;
+
+/**
+ * Bean Validation 제약을 미리 컴파일해 둔 검증기.
+ *
+ * 시작할 때 폼 클래스의 제약 메타데이터를 한 번만 읽어서, 필드마다 getter(MethodHandle)와 검사 로직을 묶어 둔다.
+ * 요청마다 Hibernate Validator가 메타데이터를 따라가며 검증하는 과정을 건너뛴다.
+ *
+ * 오류는 SpringValidatorAdapter(LocalValidatorFactoryBean)와 같은 모양으로 남긴다.
+ * - 코드 : 제약 이름(NotBlank, Range, Max ...)을 MessageCodesResolver로 풀어낸 값
+ * - 인자 : [필드명, 제약 속성들(이름 순)]   예) Range => [price, max, min]
+ * - 기본 메시지 : Hibernate Validator가 보간한 메시지. 로케일별로 한 번만 보간해서 보관한다.
+ * 타입 변환에 실패한 필드(typeMismatch)는 검증하지 않는다.
+ *
+ * 지원하는 제약은 NotNull, NotBlank, Min, Max, Range(정수 타입)와 클래스 레벨의 @ExpressionMin뿐이다.
+ * @ExpressionMin은 필드 검사 다음에 ExpressionRules로 검사하고, ExpressionMinValidatorAdapter와 같은 글로벌 오류를 남긴다.
+ * 그 밖의 제약, EL 메시지, 중첩 검증(@Valid)이 있으면 compile()이 IllegalArgumentException을 던진다.
+ * 그룹(validationHints)을 지정한 검증은 원래 검증기에 맡긴다. 그룹 검증을 컴파일하려면 compile()에 그룹을 넘긴다.
+ *
+ * failFast()는 첫 번째 위반에서 멈추는 검증기를 돌려준다. 필드 오류는 필드와 제약 이름(코드 하나)만 남기고
+ * 인자, 메시지, 나머지 위반은 만들지 않는다. 이미 바인딩 오류가 있으면 검증하지 않는다.
+ * 규칙(@ExpressionMin)은 필드 위반이 없을 때만 검사한다.
+ */
+public class CompiledValidator implements SmartValidator {
+
+    private static final Set<String> INTERNAL_ATTRIBUTES = Set.of("message", "groups", "payload");
+    private static final Set<Class<?>> INTEGRAL_TYPES = Set.of(
+            Integer.class, Long.class, Short.class, Byte.class, int.class, long.class, short.class, byte.class);
+
+    private final Class<?> type;
+    private final FieldCheck[] checks;
+    private final ExpressionRules rules;
+    private final SpringValidatorAdapter fallback;
+    private final Validator failFast = new FailFast();
+
+    private CompiledValidator(Class<?> type, FieldCheck[] checks, ExpressionRules rules, SpringValidatorAdapter fallback) {
+        this.type = type;
+        this.checks = checks;
+        this.rules = rules;
+        this.fallback = fallback;
+    }
+
+    public static CompiledValidator compile(Class<?> type, ValidatorFactory validatorFactory) {
+        return compile(type, validatorFactory, Default.class);
+    }
+
+    /**
+     * groups 중 하나에 속한 제약만 컴파일한다. 예) compile(Item.class, factory, UpdateCheck.class)
+     */
+    public static CompiledValidator compile(Class<?> type, ValidatorFactory validatorFactory, Class<?>... groups) {
+        Set<Class<?>> groupSet = Set.of(groups);
+        BeanDescriptor bean = validatorFactory.getValidator().getConstraintsForClass(type);
+        Set<ExpressionMin> selected = new HashSet<>();
+        for (ConstraintDescriptor<?> descriptor : bean.getConstraintDescriptors()) {
+            if (!(descriptor.getAnnotation() instanceof ExpressionMin)) {
+                throw new IllegalArgumentException("클래스 레벨 제약은 @ExpressionMin만 컴파일할 수 있습니다. type="
+                        + type.getName() + " constraint=" + descriptor.getAnnotation().annotationType().getSimpleName());
+            }
+            if (descriptor.getGroups().stream().anyMatch(groupSet::contains)) {
+                selected.add((ExpressionMin) descriptor.getAnnotation());
+            }
+        }
+        ExpressionRules rules = ExpressionRules.of(type).select(selected::contains);
+
+        List<PropertyDescriptor> properties = new ArrayList<>(bean.getConstrainedProperties());
+        List<String> declared = declaredFieldNames(type);
+        properties.sort(Comparator.comparingInt(property -> declared.indexOf(property.getPropertyName())));
+
+        MessageInterpolator interpolator = validatorFactory.getMessageInterpolator();
+        List<FieldCheck> checks = new ArrayList<>();
+        for (PropertyDescriptor property : properties) {
+            if (property.isCascaded()) {
+                throw new IllegalArgumentException("중첩 검증은 컴파일할 수 없습니다. field=" + property.getPropertyName());
+            }
+            List<Constraint> constraints = new ArrayList<>();
+            for (ConstraintDescriptor<?> descriptor : property.getConstraintDescriptors()) {
+                if (descriptor.getMessageTemplate().contains("${")) {
+                    // 값에 따라 달라지는 EL 메시지는 로케일별로 미리 보간해 둘 수 없다.
+                    throw new IllegalArgumentException("EL 메시지는 컴파일할 수 없습니다. field=" + property.getPropertyName());
+                }
+                if (descriptor.getGroups().stream().anyMatch(groupSet::contains)) {
+                    constraints.add(new Constraint(descriptor, predicate(descriptor, property), interpolator));
+                }
+            }
+            if (!constraints.isEmpty()) {
+                checks.add(new FieldCheck(property.getPropertyName(), getter(type, property.getPropertyName()),
+                        constraints.toArray(new Constraint[0])));
+            }
+        }
+        return new CompiledValidator(type, checks.toArray(new FieldCheck[0]), rules,
+                new ExpressionMinValidatorAdapter(validatorFactory.getValidator()));
+    }
+
+    @Override
+    public boolean supports(Class<?> clazz) {
+        return type == clazz;
+    }
+
+    @Override
+    public void validate(Object target, Errors errors) {
+        for (FieldCheck check : checks) {
+            check.validate(target, errors);
+        }
+        rules.check(target, errors);
+    }
+
+    @Override
+    public void validate(Object target, Errors errors, Object... validationHints) {
+        if (validationHints.length > 0) {
+            fallback.validate(target, errors, validationHints);
+            return;
+        }
+        validate(target, errors);
+    }
+
+    public Validator failFast() {
+        return failFast;
+    }
+
+    /**
+     * skip이 true인 필드는 검사하지 않는다. 규칙(@ExpressionMin)은 입력 필드가 모두 skip일 때만 건너뛴다. (IncrementalValidator)
+     */
+    void validate(Object target, Errors errors, Predicate<String> skip) {
+        for (FieldCheck check : checks) {
+            if (!skip.test(check.field)) {
+                check.validate(target, errors);
+            }
+        }
+        rules.check(target, errors, skip);
+    }
+
+    List<String> fields() {
+        List<String> fields = new ArrayList<>(checks.length);
+        for (FieldCheck check : checks) {
+            fields.add(check.field);
+        }
+        return fields;
+    }
+
+    private static Predicate<Object> predicate(ConstraintDescriptor<?> descriptor, PropertyDescriptor property) {
+        Class<?> annotation = descriptor.getAnnotation().annotationType();
+        Class<?> fieldType = property.getElementClass();
+        Map<String, Object> attributes = descriptor.getAttributes();
+
+        if (annotation == NotNull.class) {
+            return Objects::nonNull;
+        }
+        if (annotation == NotBlank.class && CharSequence.class.isAssignableFrom(fieldType)) {
+            return value -> value != null && value.toString().trim().length() > 0;
+        }
+        if (INTEGRAL_TYPES.contains(fieldType)) {
+            if (annotation == Min.class) {
+                long min = (Long) attributes.get("value");
+                return value -> value == null || ((Number) value).longValue() >= min;
+            }
+            if (annotation == Max.class) {
+                long max = (Long) attributes.get("value");
+                return value -> value == null || ((Number) value).longValue() <= max;
+            }
+            if (annotation == Range.class) {
+                long min = (Long) attributes.get("min");
+                long max = (Long) attributes.get("max");
+                return value -> value == null || (((Number) value).longValue() >= min && ((Number) value).longValue() <= max);
+            }
+        }
+        throw new IllegalArgumentException("컴파일할 수 없는 제약입니다. field=" + property.getPropertyName()
+                + " constraint=" + annotation.getSimpleName() + " type=" + fieldType.getName());
+    }
+
+    static MethodHandle getter(Class<?> type, String property) {
+        java.beans.PropertyDescriptor descriptor = BeanUtils.getPropertyDescriptor(type, property);
+        Method readMethod = descriptor == null ? null : descriptor.getReadMethod();
+        if (readMethod == null) {
+            throw new IllegalArgumentException("getter가 없습니다. field=" + property);
+        }
+        try {
+            return MethodHandles.publicLookup().unreflect(readMethod)
+                    .asType(MethodType.methodType(Object.class, Object.class));
+        } catch (IllegalAccessException e) {
+            throw new IllegalArgumentException("getter에 접근할 수 없습니다. field=" + property, e);
+        }
+    }
+
+    private static List<String> declaredFieldNames(Class<?> type) {
+        List<Class<?>> hierarchy = new ArrayList<>();
+        for (Class<?> c = type; c != null && c != Object.class; c = c.getSuperclass()) {
+            hierarchy.add(0, c);
+        }
+        List<String> names = new ArrayList<>();
+        for (Class<?> c : hierarchy) {
+            for (Field field : c.getDeclaredFields()) {
+                names.add(field.getName());
+            }
+        }
+        return names;
+    }
+
+    private static final class FieldCheck {
+
+        private final String field;
+        private final MethodHandle getter;
+        private final Constraint[] constraints;
+
+        FieldCheck(String field, MethodHandle getter, Constraint[] constraints) {
+            this.field = field;
+            this.getter = getter;
+            this.constraints = constraints;
+        }
+
+        void validate(Object target, Errors errors) {
+            Object value = get(target);
+            for (Constraint constraint : constraints) {
+                if (constraint.test.test(value)) {
+                    continue;
+                }
+                FieldError fieldError = errors.getFieldError(field);
+                if (fieldError != null && fieldError.isBindingFailure()) {
+                    return;
+                }
+                constraint.reject(field, value, errors);
+            }
+        }
+
+        boolean rejectFirst(Object target, Errors errors) {
+            Object value = get(target);
+            for (Constraint constraint : constraints) {
+                if (constraint.test.test(value)) {
+                    continue;
+                }
+                if (errors instanceof BindingResult) {
+                    ((BindingResult) errors).addError(new FieldError(errors.getObjectName(), field, value, false,
+                            new String[]{constraint.code}, null, null));
+                } else {
+                    errors.rejectValue(field, constraint.code);
+                }
+                return true;
+            }
+            return false;
+        }
+
+        private Object get(Object target) {
+            try {
+                return (Object) getter.invokeExact(target);
+            } catch (Throwable e) {
+                throw new IllegalStateException("값을 읽을 수 없습니다. field=" + field, e);
+            }
+        }
+    }
+
+    private final class FailFast implements Validator {
+
+        @Override
+        public boolean supports(Class<?> clazz) {
+            return type == clazz;
+        }
+
+        @Override
+        public void validate(Object target, Errors errors) {
+            if (errors.hasErrors()) {
+                return;
+            }
+            for (FieldCheck check : checks) {
+                if (check.rejectFirst(target, errors)) {
+                    return;
+                }
+            }
+            // 필드 위반이 없을 때만 규칙을 검사한다. 규칙 오류는 전체 검증과 같이 코드와 인자를 남긴다.
+            rules.rejectFirst(target, errors);
+        }
+    }
+
+    private static final class Constraint {
+
+        private final String code;
+        private final Predicate<Object> test;
+        private final Object[] attributes;
+        private final ConstraintDescriptor<?> descriptor;
+        private final MessageInterpolator interpolator;
+        private final Map<Locale, String> messages = new ConcurrentHashMap<>();
+
+        Constraint(ConstraintDescriptor<?> descriptor, Predicate<Object> test, MessageInterpolator interpolator) {
+            this.code = descriptor.getAnnotation().annotationType().getSimpleName();
+            this.test = test;
+            this.descriptor = descriptor;
+            this.interpolator = interpolator;
+            // SpringValidatorAdapter.getArgumentsForConstraint()와 같은 순서 (속성 이름 순)
+            Map<String, Object> exposed = new TreeMap<>(descriptor.getAttributes());
+            exposed.keySet().removeAll(INTERNAL_ATTRIBUTES);
+            this.attributes = exposed.values().toArray();
+        }
+
+        void reject(String field, Object value, Errors errors) {
+            Object[] args = new Object[attributes.length + 1];
+            args[0] = new DefaultMessageSourceResolvable(
+                    new String[]{errors.getObjectName() + Errors.NESTED_PATH_SEPARATOR + field, field}, field);
+            System.arraycopy(attributes, 0, args, 1, attributes.length);
+            String message = messages.computeIfAbsent(LocaleContextHolder.getLocale(), this::interpolate);
+
+            if (errors instanceof BindingResult) {
+                BindingResult bindingResult = (BindingResult) errors;
+                bindingResult.addError(new FieldError(errors.getObjectName(), bindingResult.getNestedPath() + field,
+                        value, false, bindingResult.resolveMessageCodes(code, field), args, message));
+            } else {
+                errors.rejectValue(field, code, args, message);
+            }
+        }
+
+        private String interpolate(Locale locale) {
+            return interpolator.interpolate(descriptor.getMessageTemplate(), new MessageInterpolator.Context() {
+                @Override
+                public ConstraintDescriptor<?> getConstraintDescriptor() {
+                    return descriptor;
+                }
+
+                @Override
+                public Object getValidatedValue() {
+                    return null;
+                }
+
+                @Override
+                public <T> T unwrap(Class<T> type) {
+                    if (type.isInstance(this)) {
+                        return type.cast(this);
+                    }
+                    throw new ValidationException("지원하지 않는 타입입니다. type=" + type.getName());
+                }
+            }, locale);
+        }
+    }
+}
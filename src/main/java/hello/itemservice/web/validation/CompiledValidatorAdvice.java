@@ -0,0 +1,42 @@
+package hello.itemservice.web.validation;
+
+import hello.itemservice.web.validation.form.ItemSaveForm;
+import hello.itemservice.web.validation.form.ItemUpdateForm;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.web.bind.WebDataBinder;
+import org.springframework.web.bind.annotation.ControllerAdvice;
+import org.springframework.web.bind.annotation.InitBinder;
+
+import javax.validation.ValidatorFactory;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * item.validation.compiled=true 이면 V4 컨트롤러와 API 컨트롤러의 폼 검증을 CompiledValidator로 바꾼다.
+ * 폼 클래스(ItemSaveForm, ItemUpdateForm)는 시작할 때 한 번만 컴파일한다.
+ */
+@Slf4j
+@ControllerAdvice(assignableTypes = {ValidationItemControllerV4.class, ValidationItemApiController.class})
+@ConditionalOnProperty(name = "item.validation.compiled", havingValue = "true")
+public class CompiledValidatorAdvice {
+
+    private final Map<Class<?>, CompiledValidator> validators = new HashMap<>();
+
+    public CompiledValidatorAdvice(ValidatorFactory validatorFactory) {
+        for (Class<?> formClass : List.of(ItemSaveForm.class, ItemUpdateForm.class)) {
+            validators.put(formClass, CompiledValidator.compile(formClass, validatorFactory));
+        }
+        log.info("컴파일된 검증기 사용 forms={}", validators.keySet());
+    }
+
+    @InitBinder
+    public void initBinder(WebDataBinder binder) {
+        Object target = binder.getTarget();
+        CompiledValidator validator = target == null ? null : validators.get(target.getClass());
+        if (validator != null) {
+            binder.setValidator(validator);
+        }
+    }
+}
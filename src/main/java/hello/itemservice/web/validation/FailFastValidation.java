@@ -0,0 +1,46 @@
+package hello.itemservice.web.validation;
+
+import hello.itemservice.web.validation.form.ItemSaveForm;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.validation.Validator;
+
+import javax.validation.ValidatorFactory;
+
+/**
+ * API의 빠른 실패(fail-fast) 검증 모드.
+ * 첫 번째 위반에서 검증을 멈추고, 응답에는 그 위반 하나의 필드와 코드만 담는다.
+ *
+ * - 전체 설정 : item.validation.api.fail-fast=true
+ * - 요청별 설정 : X-Validation-Mode: fail-fast (전체 설정이 켜져 있어도 full을 보내면 모든 오류를 받는다.)
+ */
+@Component
+public class FailFastValidation {
+
+    public static final String HEADER = "X-Validation-Mode";
+    public static final String FAIL_FAST = "fail-fast";
+    public static final String FULL = "full";
+
+    private final boolean failFastByDefault;
+    private final Validator saveFormValidator;
+
+    public FailFastValidation(@Value("${item.validation.api.fail-fast:false}") boolean failFastByDefault,
+                              ValidatorFactory validatorFactory) {
+        this.failFastByDefault = failFastByDefault;
+        this.saveFormValidator = CompiledValidator.compile(ItemSaveForm.class, validatorFactory).failFast();
+    }
+
+    public boolean isFailFast(String mode) {
+        if (FAIL_FAST.equalsIgnoreCase(mode)) {
+            return true;
+        }
+        if (FULL.equalsIgnoreCase(mode)) {
+            return false;
+        }
+        return failFastByDefault;
+    }
+
+    public Validator saveFormValidator() {
+        return saveFormValidator;
+    }
+}
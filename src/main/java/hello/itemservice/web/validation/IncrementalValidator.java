@@ -0,0 +1,120 @@
+package hello.itemservice.web.validation;
+
+import hello.itemservice.domain.item.Item;
+import hello.itemservice.domain.item.UpdateCheck;
+import hello.itemservice.validation.ExpressionRules;
+import hello.itemservice.web.validation.form.ItemUpdateForm;
+import org.springframework.stereotype.Component;
+import org.springframework.validation.Errors;
+
+import javax.validation.ValidatorFactory;
+import java.lang.invoke.MethodHandle;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * 상품 수정 검증. 제출한 폼을 저장된 상품과 비교해서, 바뀐 필드에 걸린 제약과 규칙만 검사한다.
+ * 대부분 그대로 다시 제출하는 대량 수정 도구에서 검증 비용을 줄인다.
+ *
+ * 바뀌지 않은 필드를 건너뛰려면 저장된 값이 제약을 통과한다는 것을 알아야 한다.
+ * (V1, V2 수정은 검증 없이 저장하므로 저장된 값이라고 해서 올바르다고 볼 수 없다.)
+ * 그래서 상품 id마다 마지막으로 모든 검증을 통과한 폼의 값(verified)을 기억해 둔다.
+ * - 필드 제약 : 폼 값 == 저장된 값 == 통과한 값 이면 건너뛴다.
+ * - 여러 필드 규칙(@ExpressionMin) : 입력 필드를 모두 건너뛸 수 있을 때만 건너뛴다.
+ * 건너뛴 검사는 같은 값으로 이미 통과한 검사이므로, 오류는 전체 검증과 같다.
+ * 처음 수정하는 상품이나 저장된 상품이 없으면 전체를 검사한다.
+ *
+ * 지원하는 폼은 ItemUpdateForm(기본 그룹)과 Item(UpdateCheck 그룹)이다.
+ * 기억하는 상품 수는 MAX_ENTRIES까지다. 넘으면 새 상품은 기억하지 않는다. (항상 전체 검사)
+ */
+@Component
+public class IncrementalValidator {
+
+    static final int MAX_ENTRIES = 4096;
+
+    private final Map<Class<?>, FormCheck> forms = new ConcurrentHashMap<>();
+
+    public IncrementalValidator(ValidatorFactory validatorFactory) {
+        forms.put(ItemUpdateForm.class, new FormCheck(ItemUpdateForm.class,
+                CompiledValidator.compile(ItemUpdateForm.class, validatorFactory)));
+        forms.put(Item.class, new FormCheck(Item.class,
+                CompiledValidator.compile(Item.class, validatorFactory, UpdateCheck.class)));
+    }
+
+    /**
+     * form을 stored(저장된 상품, 없으면 null)와 비교해서 검증한다.
+     */
+    public void validate(Object form, Item stored, Errors errors) {
+        FormCheck check = forms.get(form.getClass());
+        if (check == null) {
+            throw new IllegalArgumentException("지원하지 않는 폼입니다. type=" + form.getClass().getName());
+        }
+        check.validate(form, stored, errors);
+    }
+
+    int verifiedSize(Class<?> formClass) {
+        return forms.get(formClass).verified.size();
+    }
+
+    private static final class FormCheck {
+
+        private final CompiledValidator validator;
+        private final String[] fields;
+        private final MethodHandle[] formGetters;
+        private final MethodHandle[] itemGetters;
+        private final ConcurrentMap<Long, Object[]> verified = new ConcurrentHashMap<>();
+
+        FormCheck(Class<?> formClass, CompiledValidator validator) {
+            this.validator = validator;
+            Set<String> fields = new LinkedHashSet<>(validator.fields());
+            fields.addAll(ExpressionRules.inputs(formClass));
+            this.fields = fields.toArray(new String[0]);
+            this.formGetters = new MethodHandle[this.fields.length];
+            this.itemGetters = new MethodHandle[this.fields.length];
+            for (int i = 0; i < this.fields.length; i++) {
+                formGetters[i] = CompiledValidator.getter(formClass, this.fields[i]);
+                itemGetters[i] = CompiledValidator.getter(Item.class, this.fields[i]);
+            }
+        }
+
+        void validate(Object form, Item stored, Errors errors) {
+            Object[] values = read(formGetters, form);
+            Long id = stored == null ? null : stored.getId();
+            Object[] known = id == null ? null : verified.get(id);
+
+            List<String> skipped = new ArrayList<>(fields.length);
+            if (known != null) {
+                Object[] storedValues = read(itemGetters, stored);
+                for (int i = 0; i < fields.length; i++) {
+                    if (Objects.equals(values[i], storedValues[i]) && Objects.equals(storedValues[i], known[i])) {
+                        skipped.add(fields[i]);
+                    }
+                }
+            }
+
+            validator.validate(form, errors, skipped::contains);
+
+            if (id != null && !errors.hasErrors() && (verified.size() < MAX_ENTRIES || verified.containsKey(id))) {
+                verified.put(id, values);
+            }
+        }
+
+        private static Object[] read(MethodHandle[] getters, Object target) {
+            Object[] values = new Object[getters.length];
+            for (int i = 0; i < getters.length; i++) {
+                try {
+                    values[i] = (Object) getters[i].invokeExact(target);
+                } catch (Throwable e) {
+                    throw new IllegalStateException("값을 읽을 수 없습니다. type=" + target.getClass().getName(), e);
+                }
+            }
+            return values;
+        }
+    }
+}
@@ -0,0 +1,173 @@
+package hello.itemservice.web.validation;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import hello.itemservice.domain.item.Item;
+import hello.itemservice.domain.item.ItemRepository;
+import hello.itemservice.validation.ExpressionMinValidatorAdapter;
+import hello.itemservice.web.validation.form.ItemSaveForm;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.validation.BeanPropertyBindingResult;
+import org.springframework.validation.BindingResult;
+import org.springframework.validation.FieldError;
+import org.springframework.validation.MessageCodesResolver;
+import org.springframework.validation.ObjectError;
+import org.springframework.validation.beanvalidation.SpringValidatorAdapter;
+
+import javax.validation.Validator;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * 상품 대량 등록. JSON 배열이나 NDJSON(한 줄에 JSON 객체 하나)을 스트림으로 읽는다.
+ *
+ * 요청 본문 전체를 메모리에 올리지 않고 BATCH_SIZE개씩 끊어서
+ * 1. 병렬로 검증하고 (ItemSaveForm의 Bean Validation + totalPriceMin)
+ * 2. 검증을 통과한 상품만 한 번에 저장한 뒤
+ * 3. 레코드마다 결과 한 줄(NDJSON)을 바로 응답에 쓴다.
+ *
+ * 결과 예) {"index":0,"id":3}
+ *         {"index":1,"errors":[{"field":"price","code":"Range"},{"code":"totalPriceMin"}]}
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ItemBulkLoader {
+
+    static final int BATCH_SIZE = 500;
+
+    private final ItemRepository itemRepository;
+    private final Validator validator;
+    private final ObjectMapper objectMapper;
+    private final MessageCodesResolver messageCodesResolver;
+
+    public void load(InputStream in, OutputStream out) throws IOException {
+        SpringValidatorAdapter springValidator = new ExpressionMinValidatorAdapter(validator);
+        try (JsonParser parser = objectMapper.getFactory().createParser(in);
+             JsonGenerator generator = objectMapper.getFactory().createGenerator(out)) {
+            generator.setRootValueSeparator(null);
+
+            JsonToken first = parser.nextToken();
+            boolean array = first == JsonToken.START_ARRAY;
+            JsonToken token = array ? parser.nextToken() : first;
+
+            int index = 0;
+            List<JsonNode> batch = new ArrayList<>(BATCH_SIZE);
+            while (token != null && token != JsonToken.END_ARRAY) {
+                batch.add(parser.readValueAsTree());
+                if (batch.size() == BATCH_SIZE) {
+                    index = flush(batch, index, springValidator, generator);
+                }
+                token = parser.nextToken();
+            }
+            index = flush(batch, index, springValidator, generator);
+            log.info("대량 등록 완료 records={}", index);
+        }
+    }
+
+    private int flush(List<JsonNode> batch, int index, SpringValidatorAdapter springValidator,
+                      JsonGenerator generator) throws IOException {
+        if (batch.isEmpty()) {
+            return index;
+        }
+
+        // 검증은 레코드끼리 독립적이므로 병렬로 수행한다.
+        List<Result> results = batch.parallelStream()
+                .map(node -> validate(node, springValidator))
+                .collect(Collectors.toList());
+
+        List<Item> items = new ArrayList<>();
+        for (Result result : results) {
+            if (result.item != null) {
+                items.add(result.item);
+            }
+        }
+        itemRepository.saveAll(items);
+
+        for (Result result : results) {
+            writeResult(generator, index++, result);
+        }
+        generator.flush();
+        batch.clear();
+        return index;
+    }
+
+    /**
+     * 레코드 하나를 검증한다. 통과하면 저장할 상품을, 아니면 오류를 담아서 돌려준다. (리액티브 API도 같이 쓴다.)
+     */
+    Result validate(JsonNode node) {
+        return validate(node, new ExpressionMinValidatorAdapter(validator));
+    }
+
+    private Result validate(JsonNode node, SpringValidatorAdapter springValidator) {
+        ItemSaveForm form;
+        try {
+            form = objectMapper.treeToValue(node, ItemSaveForm.class);
+        } catch (JsonProcessingException | IllegalArgumentException e) {
+            BeanPropertyBindingResult bindingResult = new BeanPropertyBindingResult(new ItemSaveForm(), "item");
+            bindingResult.setMessageCodesResolver(messageCodesResolver);
+            bindingResult.reject("typeMismatch");
+            return new Result(null, bindingResult);
+        }
+
+        BeanPropertyBindingResult bindingResult = new BeanPropertyBindingResult(form, "item");
+        bindingResult.setMessageCodesResolver(messageCodesResolver);
+        springValidator.validate(form, bindingResult);
+
+        if (bindingResult.hasErrors()) {
+            return new Result(null, bindingResult);
+        }
+        return new Result(new Item(form.getItemName(), form.getPrice(), form.getQuantity()), null);
+    }
+
+    private static void writeResult(JsonGenerator generator, int index, Result result) throws IOException {
+        generator.writeStartObject();
+        generator.writeNumberField("index", index);
+        if (result.item != null) {
+            generator.writeNumberField("id", result.item.getId());
+        } else {
+            generator.writeArrayFieldStart("errors");
+            for (ObjectError error : result.errors.getAllErrors()) {
+                generator.writeStartObject();
+                if (error instanceof FieldError) {
+                    generator.writeStringField("field", ((FieldError) error).getField());
+                }
+                generator.writeStringField("code", error.getCode());
+                generator.writeEndObject();
+            }
+            generator.writeEndArray();
+        }
+        generator.writeEndObject();
+        generator.writeRaw('\n');
+    }
+
+    static class Result {
+
+        private final Item item;
+        private final BindingResult errors;
+
+        Result(Item item, BindingResult errors) {
+            this.item = item;
+            this.errors = errors;
+        }
+
+        Item getItem() {
+            return item;
+        }
+
+        BindingResult getErrors() {
+            return errors;
+        }
+    }
+
+}
@@ -0,0 +1,28 @@
+package hello.itemservice.web.validation;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonPropertyOrder;
+import lombok.Getter;
+
+import java.util.List;
+
+/**
+ * 대량 등록 결과 한 줄. 리액티브 API가 NDJSON으로 내려보낸다. (ItemBulkLoader가 직접 쓰는 형식과 같다.)
+ * 예) {"index":0,"id":3}
+ *     {"index":1,"errors":[{"field":"price","code":"Range"},{"code":"totalPriceMin"}]}
+ */
+@Getter
+@JsonInclude(JsonInclude.Include.NON_NULL)
+@JsonPropertyOrder({"index", "id", "errors"})
+public class ItemBulkResult {
+
+    private final long index;
+    private final Long id;
+    private final List<ItemError> errors;
+
+    public ItemBulkResult(long index, Long id, List<ItemError> errors) {
+        this.index = index;
+        this.id = id;
+        this.errors = errors;
+    }
+}
@@ -0,0 +1,105 @@
+package hello.itemservice.web.validation;
+
+import hello.itemservice.domain.item.Item;
+import hello.itemservice.domain.item.ItemRepository;
+import org.springframework.context.i18n.LocaleContextHolder;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.util.StringUtils;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.server.ResponseStatusException;
+
+/**
+ * 상품 화면(V1~V4)이 같이 쓰는 ETag 처리.
+ *
+ * 버전 비교 수정 (V3, V4 수정 화면) : 상품의 ETag는 버전을 따옴표로 감싼 값이다. 예) "3"
+ * - 없는 상품이면 404(Not Found)
+ * - If-Match 헤더가 있으면 그 버전일 때만 수정하고, 아니면 412(Precondition Failed)
+ *   버전 하나("3", W/"3") 또는 * 만 받는다. 그 외 형식(여러 개를 나열한 값 등)은 400(Bad Request)
+ * - 폼의 version(hidden)이 있으면 그 버전일 때만 수정하고, 아니면 409(Conflict)
+ * - 둘 다 없으면 버전과 상관없이 수정한다. (마지막 수정이 이긴다.)
+ *
+ * 조건부 GET (목록, 상세 화면) : 저장소의 변경 스탬프로 약한 ETag와 Last-Modified를 만든다.
+ * If-None-Match/If-Modified-Since가 맞으면 모델을 만들거나 템플릿을 렌더링하기 전에 304로 응답한다.
+ * 화면은 요청 언어에 따라 달라지므로 ETag에 로케일을 넣고 Vary: Accept-Language를 붙인다.
+ */
+public abstract class ItemETag {
+
+    public static String of(Item item) {
+        return "\"" + item.getVersion() + "\"";
+    }
+
+    /**
+     * 수정 화면과 수정 요청이 쓴다. 없는 상품이면 404로 응답한다.
+     */
+    public static Item requireItem(ItemRepository itemRepository, Long itemId) {
+        Item item = itemRepository.findById(itemId);
+        if (item == null) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "상품이 없습니다.");
+        }
+        return item;
+    }
+
+    public static void update(ItemRepository itemRepository, Long itemId, Item updateParam,
+                              String ifMatch, Long formVersion) {
+        requireItem(itemRepository, itemId);
+        if (StringUtils.hasText(ifMatch) && !"*".equals(ifMatch.trim())) {
+            long version = parse(ifMatch);
+            if (version < 0) {
+                throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "If-Match 형식이 잘못되었습니다.");
+            }
+            if (!itemRepository.update(itemId, updateParam, version)) {
+                throw new ResponseStatusException(HttpStatus.PRECONDITION_FAILED, "상품이 이미 수정되었습니다.");
+            }
+            return;
+        }
+        if (formVersion != null) {
+            if (!itemRepository.update(itemId, updateParam, formVersion)) {
+                throw new ResponseStatusException(HttpStatus.CONFLICT, "상품이 이미 수정되었습니다.");
+            }
+            return;
+        }
+        itemRepository.update(itemId, updateParam);
+    }
+
+    /**
+     * 목록 화면. 상품이 하나라도 저장/수정되면 스탬프가 바뀐다.
+     */
+    public static boolean checkNotModified(ServletWebRequest request, ItemRepository itemRepository) {
+        return checkNotModified(request, "c" + itemRepository.getChangeStamp(), itemRepository.getLastModified());
+    }
+
+    /**
+     * 상세 화면. 없는 상품은 비교하지 않는다.
+     */
+    public static boolean checkNotModified(ServletWebRequest request, Item item) {
+        if (item == null || item.getVersion() == null || item.getLastModified() == null) {
+            return false;
+        }
+        return checkNotModified(request, item.getVersion() + "-" + item.getLastModified(), item.getLastModified());
+    }
+
+    private static boolean checkNotModified(ServletWebRequest request, String stamp, long lastModified) {
+        String eTag = "W/\"" + stamp + "-" + LocaleContextHolder.getLocale().toLanguageTag() + "\"";
+        request.getResponse().addHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT_LANGUAGE);
+        return request.checkNotModified(eTag, lastModified);
+    }
+
+    /**
+     * W/"3", "3" 형식을 버전으로 바꾼다. 알 수 없는 형식은 -1을 반환한다.
+     */
+    static long parse(String eTag) {
+        String value = eTag.trim();
+        if (value.startsWith("W/")) {
+            value = value.substring(2);
+        }
+        if (value.length() >= 2 && value.startsWith("\"") && value.endsWith("\"")) {
+            value = value.substring(1, value.length() - 1);
+        }
+        try {
+            return Long.parseLong(value);
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+}
@@ -0,0 +1,73 @@
+package hello.itemservice.web.validation;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.JsonSerializer;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import lombok.Getter;
+import org.springframework.context.MessageSource;
+import org.springframework.context.NoSuchMessageException;
+import org.springframework.validation.FieldError;
+import org.springframework.validation.ObjectError;
+
+import java.io.IOException;
+import java.util.Locale;
+
+/**
+ * API 오류 응답 한 건. 전체 오류(ObjectError)는 field가 없고, 빠른 실패 모드에서는 message가 없다.
+ * 예) {"field":"price","code":"Range","message":"가격은 1000 ~ 1000000 까지 허용합니다."}
+ *
+ * ObjectError를 그대로 직렬화하면 codes 배열, arguments, bindingFailure 같은 값이 모두 나가므로
+ * 필요한 세 값만 담고, 리플렉션 없이 JsonGenerator로 직접 쓴다.
+ */
+@Getter
+@JsonSerialize(using = ItemError.Serializer.class)
+public class ItemError {
+
+    private final String field;
+    private final String code;
+    private final String message;
+
+    public ItemError(String field, String code, String message) {
+        this.field = field;
+        this.code = code;
+        this.message = message;
+    }
+
+    public static ItemError of(ObjectError error) {
+        return new ItemError(fieldOf(error), error.getCode(), null);
+    }
+
+    /**
+     * 메시지는 errors.properties에서 가장 구체적인 코드부터 찾는다. 없으면 기본 메시지, 그것도 없으면 코드를 쓴다.
+     */
+    public static ItemError of(ObjectError error, MessageSource messageSource, Locale locale) {
+        String message;
+        try {
+            message = messageSource.getMessage(error, locale);
+        } catch (NoSuchMessageException e) {
+            message = error.getCode();
+        }
+        return new ItemError(fieldOf(error), error.getCode(), message);
+    }
+
+    private static String fieldOf(ObjectError error) {
+        return error instanceof FieldError ? ((FieldError) error).getField() : null;
+    }
+
+    static class Serializer extends JsonSerializer<ItemError> {
+
+        @Override
+        public void serialize(ItemError error, JsonGenerator generator, SerializerProvider provider) throws IOException {
+            generator.writeStartObject();
+            if (error.field != null) {
+                generator.writeStringField("field", error.field);
+            }
+            generator.writeStringField("code", error.code);
+            if (error.message != null) {
+                generator.writeStringField("message", error.message);
+            }
+            generator.writeEndObject();
+        }
+    }
+}
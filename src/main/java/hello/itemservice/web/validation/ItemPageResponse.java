@@ -0,0 +1,20 @@
+package hello.itemservice.web.validation;
+
+import hello.itemservice.domain.item.Item;
+import hello.itemservice.domain.item.ItemPage;
+import lombok.Getter;
+
+import java.util.List;
+
+@Getter
+public class ItemPageResponse {
+
+    private final List<Item> items;
+    private final String nextCursor;
+
+    public ItemPageResponse(ItemPage itemPage) {
+        this.items = itemPage.getItems();
+        this.nextCursor = ItemPaging.nextCursor(itemPage);
+    }
+
+}
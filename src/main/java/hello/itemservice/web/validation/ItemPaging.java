@@ -0,0 +1,52 @@
+package hello.itemservice.web.validation;
+
+import hello.itemservice.domain.item.ItemPage;
+import hello.itemservice.domain.item.ItemRepository;
+import hello.itemservice.web.validation.form.ItemPageForm;
+import org.springframework.http.HttpStatus;
+import org.springframework.util.StringUtils;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * 목록 화면(V1~V4)과 API가 같이 쓰는 페이징 처리.
+ * cursor는 마지막 상품 id를 감싼 불투명한 문자열이다. 클라이언트는 받은 값을 그대로 다시 보내기만 하면 된다.
+ */
+public abstract class ItemPaging {
+
+    public static final int MAX_SIZE = 100;
+
+    private static final String CURSOR_PREFIX = "id:";
+
+    public static ItemPage find(ItemRepository itemRepository, ItemPageForm form) {
+        int size = Math.max(1, Math.min(form.getSize(), MAX_SIZE));
+        if (StringUtils.hasText(form.getCursor())) {
+            return itemRepository.findAfter(decode(form.getCursor()), size);
+        }
+        return itemRepository.findPage(Math.max(form.getPage(), 0), size);
+    }
+
+    public static String nextCursor(ItemPage itemPage) {
+        return itemPage.hasNext() ? encode(itemPage.getLastId()) : null;
+    }
+
+    static String encode(long id) {
+        byte[] bytes = (CURSOR_PREFIX + id).getBytes(StandardCharsets.UTF_8);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+    }
+
+    static long decode(String cursor) {
+        try {
+            String value = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            if (!value.startsWith(CURSOR_PREFIX)) {
+                throw new IllegalArgumentException(value);
+            }
+            return Long.parseLong(value.substring(CURSOR_PREFIX.length()));
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "잘못된 cursor 입니다.", e);
+        }
+    }
+
+}
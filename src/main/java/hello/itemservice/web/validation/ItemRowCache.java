@@ -0,0 +1,136 @@
+package hello.itemservice.web.validation;
+
+import hello.itemservice.domain.item.Item;
+import hello.itemservice.domain.item.ItemChangeListener;
+import hello.itemservice.domain.item.ItemRepository;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.servlet.support.RequestContextUtils;
+import org.thymeleaf.ITemplateEngine;
+import org.thymeleaf.context.WebContext;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import javax.servlet.http.HttpServletResponseWrapper;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 목록 화면(V1~V4 items.html)의 상품 한 줄(row 조각)을 렌더링해 둔 캐시.
+ * 목록 화면은 캐시된 줄을 이어 붙여서 그리고, 바뀐 상품의 줄만 다시 렌더링한다.
+ *
+ * - 키 : 상품 id => (템플릿, 로케일)별 HTML. 라벨이 messages.properties/messages_en.properties에서 오므로 로케일별로 둔다.
+ * - 무효화 : ItemRepository가 저장/수정을 알리면(ItemChangeListener) 그 상품의 줄을 모두 지운다.
+ *   렌더링 중에 수정이 겹쳐도 틀린 줄을 쓰지 않도록 렌더링한 상품의 version/lastModified를 같이 두고 비교한다.
+ * - 크기 : 상품 MAX_ITEMS개까지만 캐시하고, 넘으면 캐시하지 않고 렌더링만 한다.
+ * 캐시한 줄은 모든 사용자에게 나가므로 URL 재작성(;jsessionid=...)을 하지 않는 응답으로 렌더링한다.
+ */
+@Component
+public class ItemRowCache implements ItemChangeListener {
+
+    static final int MAX_ITEMS = 10_000;
+    static final String FRAGMENT = "row";
+
+    private final ITemplateEngine templateEngine;
+    private final ConcurrentMap<Long, Rows> cache = new ConcurrentHashMap<>();
+    private final LongAdder renderCount = new LongAdder();
+
+    public ItemRowCache(ItemRepository itemRepository, ITemplateEngine templateEngine) {
+        this.templateEngine = templateEngine;
+        itemRepository.addChangeListener(this);
+    }
+
+    /**
+     * template의 row 조각으로 items를 한 줄씩 렌더링해서 이어 붙인다. 캐시에 있는 줄은 그대로 쓴다.
+     */
+    public String rows(String template, List<Item> items, ServletWebRequest request) {
+        HttpServletRequest servletRequest = request.getRequest();
+        Locale locale = RequestContextUtils.getLocale(servletRequest);
+        String key = template + '|' + locale.toLanguageTag();
+        StringBuilder sb = new StringBuilder(items.size() * 256);
+        for (Item item : items) {
+            Rows rows = cache.get(item.getId());
+            if (rows == null || !rows.matches(item)) {
+                rows = new Rows(item);
+                if (cache.size() < MAX_ITEMS) {
+                    cache.put(item.getId(), rows);
+                }
+            }
+            String html = rows.html.get(key);
+            if (html == null) {
+                html = render(template, item, servletRequest, request.getResponse(), locale);
+                rows.html.put(key, html);
+            }
+            sb.append(html);
+        }
+        return sb.toString();
+    }
+
+    @Override
+    public void itemChanged(long itemId) {
+        cache.remove(itemId);
+    }
+
+    @Override
+    public void allChanged() {
+        cache.clear();
+    }
+
+    int size() {
+        return cache.size();
+    }
+
+    long renderCount() {
+        return renderCount.sum();
+    }
+
+    private String render(String template, Item item, HttpServletRequest request, HttpServletResponse response,
+                          Locale locale) {
+        renderCount.increment();
+        WebContext context = new WebContext(request, new NoUrlRewriting(response), request.getServletContext(), locale,
+                Map.of("item", item));
+        return templateEngine.process(template, Set.of(FRAGMENT), context);
+    }
+
+    /**
+     * th:href가 부르는 encodeURL이 요청한 사용자의 세션 id를 붙이지 않게 한다.
+     */
+    private static final class NoUrlRewriting extends HttpServletResponseWrapper {
+
+        NoUrlRewriting(HttpServletResponse response) {
+            super(response);
+        }
+
+        @Override
+        public String encodeURL(String url) {
+            return url;
+        }
+
+        @Override
+        public String encodeRedirectURL(String url) {
+            return url;
+        }
+    }
+
+    private static final class Rows {
+
+        private final Long version;
+        private final Long lastModified;
+        private final ConcurrentMap<String, String> html = new ConcurrentHashMap<>();
+
+        Rows(Item item) {
+            this.version = item.getVersion();
+            this.lastModified = item.getLastModified();
+        }
+
+        boolean matches(Item item) {
+            return Objects.equals(version, item.getVersion()) && Objects.equals(lastModified, item.getLastModified());
+        }
+    }
+}
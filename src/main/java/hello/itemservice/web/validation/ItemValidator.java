@@ -1,6 +1,7 @@
 package hello.itemservice.web.validation;
 
 import hello.itemservice.domain.item.Item;
+import hello.itemservice.validation.ExpressionRules;
 import org.springframework.stereotype.Component;
 import org.springframework.validation.Errors;
 import org.springframework.validation.ValidationUtils;
@@ -39,13 +40,8 @@ public class ItemValidator implements Validator {
             errors.rejectValue("quantity", "max", new Object[]{9999}, null);
         }
 
-        // 특정 필드 예외가 아닌 전체 예외
-        if(item.getPrice() != null && item.getQuantity() != null){
-            int resultPrice = item.getPrice() * item.getQuantity();
-            if(resultPrice < 10000){
-                errors.reject("totalPriceMin", new Object[]{10000, resultPrice}, null);
-            }
-        }
+        // 특정 필드 예외가 아닌 전체 예외 (가격 * 수량 >= 10000, @ExpressionMin)
+        ExpressionRules.validate(item, errors);
 
     }
 }
@@ -0,0 +1,157 @@
+package hello.itemservice.web.validation;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import hello.itemservice.domain.item.Item;
+import hello.itemservice.domain.item.ItemRepository;
+import hello.itemservice.domain.item.ItemSearchCond;
+import hello.itemservice.validation.ExpressionMinValidatorAdapter;
+import hello.itemservice.web.validation.form.ItemPageForm;
+import hello.itemservice.web.validation.form.ItemSaveForm;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.context.MessageSource;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.validation.BeanPropertyBindingResult;
+import org.springframework.validation.MessageCodesResolver;
+import org.springframework.validation.ObjectError;
+import org.springframework.validation.beanvalidation.SpringValidatorAdapter;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+import reactor.util.function.Tuple2;
+
+import javax.validation.Validator;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * ValidationItemApiController의 리액티브(WebFlux) 버전. ReactiveItemApiApplication으로 Netty에서 실행할 때만 등록된다.
+ * 경로, 검증 규칙(ItemSaveForm의 Bean Validation과 @ExpressionMin), 오류 코드와 응답 형식은 MVC 컨트롤러와 같다.
+ *
+ * 요청 본문은 다 도착한 다음에 이벤트 루프에서 처리하므로, 느린 클라이언트가 많아도 스레드를 붙잡지 않는다.
+ * 저장소 조회와 검증은 메모리에서 끝나므로 이벤트 루프에서 바로 하고,
+ * 대량 등록의 저장(saveAll)만 WAL을 기다릴 수 있으므로 boundedElastic 스케줄러로 넘긴다.
+ */
+@Slf4j
+@RestController
+@RequestMapping("/validation/api/items")
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ReactiveItemApiController {
+
+    private final ItemRepository itemRepository;
+    private final ItemBulkLoader itemBulkLoader;
+    private final FailFastValidation failFastValidation;
+    private final MessageSource messageSource;
+    private final MessageCodesResolver messageCodesResolver;
+    private final SpringValidatorAdapter validator;
+
+    public ReactiveItemApiController(ItemRepository itemRepository, ItemBulkLoader itemBulkLoader,
+                                     FailFastValidation failFastValidation, MessageSource messageSource,
+                                     MessageCodesResolver messageCodesResolver, Validator validator) {
+        this.itemRepository = itemRepository;
+        this.itemBulkLoader = itemBulkLoader;
+        this.failFastValidation = failFastValidation;
+        this.messageSource = messageSource;
+        this.messageCodesResolver = messageCodesResolver;
+        this.validator = new ExpressionMinValidatorAdapter(validator);
+    }
+
+    @GetMapping
+    public Mono<ItemPageResponse> items(@ModelAttribute ItemPageForm pageForm) {
+        return Mono.fromSupplier(() -> new ItemPageResponse(ItemPaging.find(itemRepository, pageForm)));
+    }
+
+    @GetMapping("/search")
+    public Flux<Item> search(@ModelAttribute ItemSearchCond cond,
+                             @RequestParam(defaultValue = "100") int limit) {
+        return Flux.defer(() -> Flux.fromIterable(
+                itemRepository.findAll(cond, Math.max(1, Math.min(limit, ItemPaging.MAX_SIZE)))));
+    }
+
+    @GetMapping("/{itemId}")
+    public Mono<Item> item(@PathVariable Long itemId) {
+        return Mono.fromSupplier(() -> itemRepository.findById(itemId))
+                .switchIfEmpty(Mono.error(() -> new ResponseStatusException(HttpStatus.NOT_FOUND)));
+    }
+
+    @PostMapping("/add")
+    public Mono<ResponseEntity<?>> addItem(@RequestBody Mono<ItemSaveForm> form,
+                                           @RequestHeader(value = FailFastValidation.HEADER, required = false) String mode,
+                                           ServerWebExchange exchange) {
+        boolean failFast = failFastValidation.isFailFast(mode);
+        Locale locale = exchange.getLocaleContext().getLocale();
+        return form.map(saveForm -> add(saveForm, failFast, locale != null ? locale : Locale.getDefault()));
+    }
+
+    /**
+     * 상품 대량 등록. JSON 배열이나 NDJSON을 레코드 단위로 흘려 읽고, 결과를 NDJSON으로 흘려 보낸다.
+     * ItemBulkLoader와 같이 BATCH_SIZE개씩 검증해서 통과한 상품만 한 번에 저장한다.
+     */
+    @PostMapping(value = "/bulk", consumes = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE},
+            produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public Flux<ItemBulkResult> addItems(@RequestBody Flux<JsonNode> records) {
+        return records.index()
+                .buffer(ItemBulkLoader.BATCH_SIZE)
+                .concatMap(batch -> Mono.fromCallable(() -> save(batch)).subscribeOn(Schedulers.boundedElastic()))
+                .concatMapIterable(results -> results);
+    }
+
+    private ResponseEntity<?> add(ItemSaveForm form, boolean failFast, Locale locale) {
+        BeanPropertyBindingResult bindingResult = new BeanPropertyBindingResult(form, "itemSaveForm");
+        bindingResult.setMessageCodesResolver(messageCodesResolver);
+        if (failFast) {
+            failFastValidation.saveFormValidator().validate(form, bindingResult);
+        } else {
+            validator.validate(form, bindingResult);
+        }
+
+        if (bindingResult.hasErrors() && failFast) {
+            // 빠른 실패 모드는 첫 번째 오류 하나만 400으로 돌려준다.
+            return ResponseEntity.badRequest().body(ItemError.of(bindingResult.getAllErrors().get(0)));
+        }
+        if (bindingResult.hasErrors()) {
+            List<ItemError> errors = new ArrayList<>(bindingResult.getErrorCount());
+            for (ObjectError error : bindingResult.getAllErrors()) {
+                errors.add(ItemError.of(error, messageSource, locale));
+            }
+            return ResponseEntity.ok(errors);
+        }
+        return ResponseEntity.ok(form);
+    }
+
+    private List<ItemBulkResult> save(List<Tuple2<Long, JsonNode>> batch) {
+        List<ItemBulkLoader.Result> results = new ArrayList<>(batch.size());
+        List<Item> items = new ArrayList<>();
+        for (Tuple2<Long, JsonNode> record : batch) {
+            ItemBulkLoader.Result result = itemBulkLoader.validate(record.getT2());
+            results.add(result);
+            if (result.getItem() != null) {
+                items.add(result.getItem());
+            }
+        }
+        itemRepository.saveAll(items);
+
+        List<ItemBulkResult> bulkResults = new ArrayList<>(batch.size());
+        for (int i = 0; i < batch.size(); i++) {
+            ItemBulkLoader.Result result = results.get(i);
+            long index = batch.get(i).getT1();
+            if (result.getItem() != null) {
+                bulkResults.add(new ItemBulkResult(index, result.getItem().getId(), null));
+            } else {
+                List<ItemError> errors = new ArrayList<>();
+                for (ObjectError error : result.getErrors().getAllErrors()) {
+                    errors.add(ItemError.of(error));
+                }
+                bulkResults.add(new ItemBulkResult(index, null, errors));
+            }
+        }
+        log.debug("대량 등록 batch={} saved={}", batch.size(), items.size());
+        return bulkResults;
+    }
+}
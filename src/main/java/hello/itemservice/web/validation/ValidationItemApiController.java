@@ -1,31 +1,98 @@
 package hello.itemservice.web.validation;
 
+import hello.itemservice.domain.item.Item;
+import hello.itemservice.domain.item.ItemRepository;
+import hello.itemservice.domain.item.ItemSearchCond;
+import hello.itemservice.web.validation.form.ItemPageForm;
 import hello.itemservice.web.validation.form.ItemSaveForm;
+import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.MessageSource;
+import org.springframework.http.MediaType;
 import org.springframework.validation.BindingResult;
+import org.springframework.validation.ObjectError;
 import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.WebDataBinder;
 import org.springframework.web.bind.annotation.*;
 
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
 @Slf4j
 @RestController
 @RequestMapping("/validation/api/items")
+@RequiredArgsConstructor
 public class ValidationItemApiController {
 
+    private final ItemRepository itemRepository;
+    private final ItemBulkLoader itemBulkLoader;
+    private final FailFastValidation failFastValidation;
+    private final MessageSource messageSource;
+
+    /**
+     * 빠른 실패 모드면 ItemSaveForm을 첫 번째 위반에서 멈추는 검증기로 검증한다.
+     */
+    @InitBinder("itemSaveForm")
+    public void initBinder(WebDataBinder binder,
+                           @RequestHeader(value = FailFastValidation.HEADER, required = false) String mode) {
+        if (failFastValidation.isFailFast(mode)) {
+            binder.setValidator(failFastValidation.saveFormValidator());
+        }
+    }
+
+    /**
+     * 상품 목록을 id 순서로 나누어 조회한다.
+     * 응답의 nextCursor를 다음 요청의 cursor로 그대로 보내면 이어서 조회할 수 있다.
+     */
+    @GetMapping
+    public ItemPageResponse items(@ModelAttribute ItemPageForm pageForm) {
+        return new ItemPageResponse(ItemPaging.find(itemRepository, pageForm));
+    }
+
+    /**
+     * 가격, 수량 범위로 검색한다. 예) /validation/api/items/search?priceMin=1000&priceMax=20000
+     * 정렬된 인덱스를 사용하므로 전체 목록을 훑지 않는다.
+     */
+    @GetMapping("/search")
+    public List<Item> search(@ModelAttribute ItemSearchCond cond,
+                             @RequestParam(defaultValue = "100") int limit) {
+        return itemRepository.findAll(cond, Math.max(1, Math.min(limit, ItemPaging.MAX_SIZE)));
+    }
+
     @PostMapping("/add")
     public Object addItem(@RequestBody @Validated ItemSaveForm form,
-                          BindingResult bindingResult
+                          BindingResult bindingResult,
+                          @RequestHeader(value = FailFastValidation.HEADER, required = false) String mode,
+                          HttpServletResponse response,
+                          Locale locale
                           ){
         /*
         * 이번에는 api로 받을것이다. 즉, json형식으로 받고 싶은 것이다. 그런데 검증하는 기능도 넣고 싶은 것이다.
         * */
         log.info("API 컨트롤러 호출");
 
+        // 특정 필드 예외가 아닌 전체 예외 (가격 * 수량 >= 10000, @ExpressionMin)는 @Validated가 함께 검사한다.
+        if(bindingResult.hasErrors() && failFastValidation.isFailFast(mode)){
+            // 빠른 실패 모드는 첫 번째 오류 하나만 400으로 돌려준다.
+            response.setStatus(HttpServletResponse.SC_BAD_REQUEST);
+            return ItemError.of(bindingResult.getAllErrors().get(0));
+        }
+
         if(bindingResult.hasErrors()){
             log.info("검증 오류 발생 errors={}", bindingResult);
-            return bindingResult.getAllErrors();
+            List<ItemError> errors = new ArrayList<>(bindingResult.getErrorCount());
+            for (ObjectError error : bindingResult.getAllErrors()) {
+                errors.add(ItemError.of(error, messageSource, locale));
+            }
+            return errors;
             /*
-            * bindingResult가 가지고 있는 모든 오류, ObjectError와 그 자식인 FieldError 전부 반환해 준다.
-            * 리스트로 반환되면 json으로 변환해서 화면에 보여줄 것이다.
+            * bindingResult가 가지고 있는 모든 오류, ObjectError와 그 자식인 FieldError를 전부 반환해 준다.
+            * 오류 객체를 그대로 반환하면 codes, arguments 같은 값까지 json으로 나가므로,
+            * 필드, 대표 코드, 요청 언어로 풀어낸 메시지만 담아서 반환한다.
             * */
         }
 
@@ -33,4 +100,14 @@ public class ValidationItemApiController {
         return form;
     }
 
+    /**
+     * 상품 대량 등록. JSON 배열이나 NDJSON을 받아서 레코드마다 결과 한 줄을 NDJSON으로 돌려준다.
+     * 본문을 한 번에 읽지 않고 흘려 읽으면서 결과도 바로바로 내려보낸다.
+     */
+    @PostMapping(value = "/bulk", consumes = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE})
+    public void addItems(HttpServletRequest request, HttpServletResponse response) throws IOException {
+        response.setContentType(MediaType.APPLICATION_NDJSON_VALUE);
+        itemBulkLoader.load(request.getInputStream(), response.getOutputStream());
+    }
+
 }
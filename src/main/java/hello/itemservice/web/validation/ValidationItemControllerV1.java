@@ -1,16 +1,18 @@
 package hello.itemservice.web.validation;
 
 import hello.itemservice.domain.item.Item;
+import hello.itemservice.domain.item.ItemPage;
 import hello.itemservice.domain.item.ItemRepository;
+import hello.itemservice.web.validation.form.ItemPageForm;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
 import org.springframework.util.StringUtils;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.ServletWebRequest;
 import org.springframework.web.servlet.mvc.support.RedirectAttributes;
 
 import java.util.HashMap;
-import java.util.List;
 import java.util.Map;
 
 @Controller
@@ -19,17 +21,25 @@ import java.util.Map;
 public class ValidationItemControllerV1 {
 
     private final ItemRepository itemRepository;
+    private final ItemRowCache itemRowCache;
 
     @GetMapping
-    public String items(Model model) {
-        List<Item> items = itemRepository.findAll();
-        model.addAttribute("items", items);
+    public String items(@ModelAttribute("pageForm") ItemPageForm pageForm, Model model, ServletWebRequest request) {
+        if (ItemETag.checkNotModified(request, itemRepository)) {
+            return null;
+        }
+        ItemPage itemPage = ItemPaging.find(itemRepository, pageForm);
+        model.addAttribute("rows", itemRowCache.rows("validation/v1/items", itemPage.getItems(), request));
+        model.addAttribute("nextCursor", ItemPaging.nextCursor(itemPage));
         return "validation/v1/items";
     }
 
     @GetMapping("/{itemId}")
-    public String item(@PathVariable long itemId, Model model) {
+    public String item(@PathVariable long itemId, Model model, ServletWebRequest request) {
         Item item = itemRepository.findById(itemId);
+        if (ItemETag.checkNotModified(request, item)) {
+            return null;
+        }
         model.addAttribute("item", item);
         return "validation/v1/item";
     }
@@ -1,7 +1,9 @@
 package hello.itemservice.web.validation;
 
 import hello.itemservice.domain.item.Item;
+import hello.itemservice.domain.item.ItemPage;
 import hello.itemservice.domain.item.ItemRepository;
+import hello.itemservice.web.validation.form.ItemPageForm;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Controller;
@@ -11,10 +13,10 @@ import org.springframework.validation.*;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.WebDataBinder;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.ServletWebRequest;
 import org.springframework.web.servlet.mvc.support.RedirectAttributes;
 
 import java.util.HashMap;
-import java.util.List;
 import java.util.Map;
 
 @Slf4j
@@ -25,6 +27,7 @@ public class ValidationItemControllerV2 {
 
     private final ItemRepository itemRepository;
     private final ItemValidator itemValidator;
+    private final ItemRowCache itemRowCache;
 
 /*
 - Validator 분리2 -
@@ -74,15 +77,22 @@ WebDataBinder 안의 검증기를 통해 검증 후 바인딩을 할 수 있는
 //    }
 
     @GetMapping
-    public String items(Model model) {
-        List<Item> items = itemRepository.findAll();
-        model.addAttribute("items", items);
+    public String items(@ModelAttribute("pageForm") ItemPageForm pageForm, Model model, ServletWebRequest request) {
+        if (ItemETag.checkNotModified(request, itemRepository)) {
+            return null;
+        }
+        ItemPage itemPage = ItemPaging.find(itemRepository, pageForm);
+        model.addAttribute("rows", itemRowCache.rows("validation/v2/items", itemPage.getItems(), request));
+        model.addAttribute("nextCursor", ItemPaging.nextCursor(itemPage));
         return "validation/v2/items";
     }
 
     @GetMapping("/{itemId}")
-    public String item(@PathVariable long itemId, Model model) {
+    public String item(@PathVariable long itemId, Model model, ServletWebRequest request) {
         Item item = itemRepository.findById(itemId);
+        if (ItemETag.checkNotModified(request, item)) {
+            return null;
+        }
         model.addAttribute("item", item);
         return "validation/v2/item";
     }
@@ -1,11 +1,14 @@
 package hello.itemservice.web.validation;
 
 import hello.itemservice.domain.item.Item;
+import hello.itemservice.domain.item.ItemPage;
 import hello.itemservice.domain.item.ItemRepository;
 import hello.itemservice.domain.item.SaveCheck;
 import hello.itemservice.domain.item.UpdateCheck;
+import hello.itemservice.web.validation.form.ItemPageForm;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
 import org.springframework.util.StringUtils;
@@ -15,10 +18,11 @@ import org.springframework.validation.ObjectError;
 import org.springframework.validation.ValidationUtils;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.ServletWebRequest;
 import org.springframework.web.servlet.mvc.support.RedirectAttributes;
 
+import javax.servlet.http.HttpServletResponse;
 import javax.validation.Valid;
-import java.util.List;
 
 @Slf4j
 @Controller
@@ -27,17 +31,27 @@ import java.util.List;
 public class ValidationItemControllerV3 {
 
     private final ItemRepository itemRepository;
+    private final IncrementalValidator incrementalValidator;
+    private final ClientConstraints clientConstraints;
+    private final ItemRowCache itemRowCache;
 
     @GetMapping
-    public String items(Model model) {
-        List<Item> items = itemRepository.findAll();
-        model.addAttribute("items", items);
+    public String items(@ModelAttribute("pageForm") ItemPageForm pageForm, Model model, ServletWebRequest request) {
+        if (ItemETag.checkNotModified(request, itemRepository)) {
+            return null;
+        }
+        ItemPage itemPage = ItemPaging.find(itemRepository, pageForm);
+        model.addAttribute("rows", itemRowCache.rows("validation/v3/items", itemPage.getItems(), request));
+        model.addAttribute("nextCursor", ItemPaging.nextCursor(itemPage));
         return "validation/v3/items";
     }
 
     @GetMapping("/{itemId}")
-    public String item(@PathVariable long itemId, Model model) {
+    public String item(@PathVariable long itemId, Model model, ServletWebRequest request) {
         Item item = itemRepository.findById(itemId);
+        if (ItemETag.checkNotModified(request, item)) {
+            return null;
+        }
         model.addAttribute("item", item);
         return "validation/v3/item";
     }
@@ -45,7 +59,7 @@ public class ValidationItemControllerV3 {
     @GetMapping("/add")
     public String addForm(Model model) {
         model.addAttribute("item", new Item());
-        return "validation/v3/addForm";
+        return addFormView(model);
     }
 
 //    @PostMapping("/add")
@@ -54,17 +68,9 @@ public class ValidationItemControllerV3 {
                             RedirectAttributes redirectAttributes,
                             Model model) {
 
-        // 특정 필드 예외가 아닌 전체 예외
-        if(item.getPrice() != null && item.getQuantity() != null){
-            int resultPrice = item.getPrice() * item.getQuantity();
-            if(resultPrice < 10000){
-                bindingResult.reject("totalPriceMin", new Object[]{10000, resultPrice}, null);
-            }
-        }
-
         if(bindingResult.hasErrors()){
             log.info("errors = {}", bindingResult);
-            return "validation/v3/addForm";
+            return addFormView(model);
         }
 
         // 성공 로직
@@ -80,17 +86,9 @@ public class ValidationItemControllerV3 {
                           RedirectAttributes redirectAttributes,
                           Model model) {
 
-        // 특정 필드 예외가 아닌 전체 예외
-        if(item.getPrice() != null && item.getQuantity() != null){
-            int resultPrice = item.getPrice() * item.getQuantity();
-            if(resultPrice < 10000){
-                bindingResult.reject("totalPriceMin", new Object[]{10000, resultPrice}, null);
-            }
-        }
-
         if(bindingResult.hasErrors()){
             log.info("errors = {}", bindingResult);
-            return "validation/v3/addForm";
+            return addFormView(model);
         }
 
         // 성공 로직
@@ -101,52 +99,58 @@ public class ValidationItemControllerV3 {
     }
 
     @GetMapping("/{itemId}/edit")
-    public String editForm(@PathVariable Long itemId, Model model) {
-        Item item = itemRepository.findById(itemId);
+    public String editForm(@PathVariable Long itemId, Model model, HttpServletResponse response) {
+        Item item = ItemETag.requireItem(itemRepository, itemId);
         model.addAttribute("item", item);
-        return "validation/v3/editForm";
+        response.setHeader(HttpHeaders.ETAG, ItemETag.of(item));
+        return editFormView(model);
     }
 
 //    @PostMapping("/{itemId}/edit")
     public String edit(@PathVariable Long itemId,
                        @Validated @ModelAttribute Item item,
-                       BindingResult bindingResult) {
-
-        if(item.getPrice() != null && item.getQuantity() != null){
-            int resultPrice = item.getPrice() * item.getQuantity();
-            if(resultPrice < 10000){
-                bindingResult.reject("totalPriceMin", new Object[]{10000, resultPrice}, null);
-            }
-        }
+                       BindingResult bindingResult,
+                       @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+                       Model model) {
 
         if(bindingResult.hasErrors()){
             log.info("errors={}", bindingResult);
-            return "validation/v3/editForm";
+            return editFormView(model);
         }
 
-        itemRepository.update(itemId, item);
+        ItemETag.update(itemRepository, itemId, item, ifMatch, item.getVersion());
         return "redirect:/validation/v3/items/{itemId}";
     }
 
+    // 저장된 상품과 비교해서 바뀐 필드의 UpdateCheck 제약과 규칙(@ExpressionMin)만 검사한다. (IncrementalValidator)
+    // 오류는 @Validated(UpdateCheck.class)로 전체를 검사할 때와 같다.
     @PostMapping("/{itemId}/edit")
     public String editV2(@PathVariable Long itemId,
-                       @Validated(UpdateCheck.class) @ModelAttribute Item item,
-                       BindingResult bindingResult) {
-
-        if(item.getPrice() != null && item.getQuantity() != null){
-            int resultPrice = item.getPrice() * item.getQuantity();
-            if(resultPrice < 10000){
-                bindingResult.reject("totalPriceMin", new Object[]{10000, resultPrice}, null);
-            }
-        }
+                       @ModelAttribute Item item,
+                       BindingResult bindingResult,
+                       @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+                       Model model) {
+
+        incrementalValidator.validate(item, itemRepository.findById(itemId), bindingResult);
 
         if(bindingResult.hasErrors()){
             log.info("errors={}", bindingResult);
-            return "validation/v3/editForm";
+            return editFormView(model);
         }
 
-        itemRepository.update(itemId, item);
+        ItemETag.update(itemRepository, itemId, item, ifMatch, item.getVersion());
         return "redirect:/validation/v3/items/{itemId}";
     }
 
-}
\ No newline at end of file
+    // 등록/수정 폼의 HTML5 제약 속성과 규칙 (ClientConstraints). 폼을 그릴 때만 모델에 넣는다.
+    private String addFormView(Model model) {
+        model.addAttribute("saveConstraints", clientConstraints.of(Item.class, SaveCheck.class));
+        return "validation/v3/addForm";
+    }
+
+    private String editFormView(Model model) {
+        model.addAttribute("updateConstraints", clientConstraints.of(Item.class, UpdateCheck.class));
+        return "validation/v3/editForm";
+    }
+
+}
@@ -1,21 +1,25 @@
 package hello.itemservice.web.validation;
 
 import hello.itemservice.domain.item.Item;
+import hello.itemservice.domain.item.ItemPage;
 import hello.itemservice.domain.item.ItemRepository;
 import hello.itemservice.domain.item.SaveCheck;
 import hello.itemservice.domain.item.UpdateCheck;
+import hello.itemservice.web.validation.form.ItemPageForm;
 import hello.itemservice.web.validation.form.ItemSaveForm;
 import hello.itemservice.web.validation.form.ItemUpdateForm;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
 import org.springframework.validation.BindingResult;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.ServletWebRequest;
 import org.springframework.web.servlet.mvc.support.RedirectAttributes;
 
-import java.util.List;
+import javax.servlet.http.HttpServletResponse;
 
 @Slf4j
 @Controller
@@ -24,17 +28,27 @@ import java.util.List;
 public class ValidationItemControllerV4 {
 
     private final ItemRepository itemRepository;
+    private final IncrementalValidator incrementalValidator;
+    private final ClientConstraints clientConstraints;
+    private final ItemRowCache itemRowCache;
 
     @GetMapping
-    public String items(Model model) {
-        List<Item> items = itemRepository.findAll();
-        model.addAttribute("items", items);
+    public String items(@ModelAttribute("pageForm") ItemPageForm pageForm, Model model, ServletWebRequest request) {
+        if (ItemETag.checkNotModified(request, itemRepository)) {
+            return null;
+        }
+        ItemPage itemPage = ItemPaging.find(itemRepository, pageForm);
+        model.addAttribute("rows", itemRowCache.rows("validation/v4/items", itemPage.getItems(), request));
+        model.addAttribute("nextCursor", ItemPaging.nextCursor(itemPage));
         return "validation/v4/items";
     }
 
     @GetMapping("/{itemId}")
-    public String item(@PathVariable long itemId, Model model) {
+    public String item(@PathVariable long itemId, Model model, ServletWebRequest request) {
         Item item = itemRepository.findById(itemId);
+        if (ItemETag.checkNotModified(request, item)) {
+            return null;
+        }
         model.addAttribute("item", item);
         return "validation/v4/item";
     }
@@ -42,25 +56,18 @@ public class ValidationItemControllerV4 {
     @GetMapping("/add")
     public String addForm(Model model) {
         model.addAttribute("item", new Item());
-        return "validation/v4/addForm";
+        return addFormView(model);
     }
 
     @PostMapping("/add")
     public String addItem(@Validated @ModelAttribute("item") ItemSaveForm form,
                           BindingResult bindingResult,
-                          RedirectAttributes redirectAttributes){
-
-        // 특정 필드 예외가 아닌 전체 예외
-        if(form.getPrice() != null && form.getQuantity() != null){
-            int resultPrice = form.getPrice() * form.getQuantity();
-            if(resultPrice < 10000){
-                bindingResult.reject("totalPriceMin", new Object[]{10000, resultPrice}, null);
-            }
-        }
+                          RedirectAttributes redirectAttributes,
+                          Model model){
 
         if(bindingResult.hasErrors()){
             log.info("errors={}", bindingResult);
-            return "validation/v4/addForm";
+            return addFormView(model);
         }
 
         // 성공로직
@@ -77,29 +84,28 @@ public class ValidationItemControllerV4 {
     }
 
     @GetMapping("/{itemId}/edit")
-    public String editForm(@PathVariable Long itemId, Model model) {
-        Item item = itemRepository.findById(itemId);
+    public String editForm(@PathVariable Long itemId, Model model, HttpServletResponse response) {
+        Item item = ItemETag.requireItem(itemRepository, itemId);
         model.addAttribute("item", item);
-        return "validation/v4/editForm";
+        response.setHeader(HttpHeaders.ETAG, ItemETag.of(item));
+        return editFormView(model);
     }
 
+    // 저장된 상품과 비교해서 바뀐 필드의 제약과 규칙(@ExpressionMin)만 검사한다. (IncrementalValidator)
+    // 오류는 @Validated로 전체를 검사할 때와 같다.
     @PostMapping("/{itemId}/edit")
     public String edit(@PathVariable Long itemId,
-                       @Validated @ModelAttribute("item") ItemUpdateForm form,
-                       BindingResult bindingResult
+                       @ModelAttribute("item") ItemUpdateForm form,
+                       BindingResult bindingResult,
+                       @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+                       Model model
                        ){
 
-        // 특정 필드 예외가 아닌 전체 예외
-        if(form.getPrice() != null && form.getQuantity() != null){
-            int resultPrice = form.getPrice() * form.getQuantity();
-            if(resultPrice < 10000){
-                bindingResult.reject("totalPriceMin", new Object[]{10000, resultPrice}, null);
-            }
-        }
+        incrementalValidator.validate(form, ItemETag.requireItem(itemRepository, itemId), bindingResult);
 
         if(bindingResult.hasErrors()){
             log.info("errors={}", bindingResult);
-            return "validation/v4/editForm";
+            return editFormView(model);
         }
 
         Item itemParam = new Item();
@@ -107,9 +113,20 @@ public class ValidationItemControllerV4 {
         itemParam.setPrice(form.getPrice());
         itemParam.setQuantity(form.getQuantity());
 
-        itemRepository.update(itemId, itemParam);
+        ItemETag.update(itemRepository, itemId, itemParam, ifMatch, form.getVersion());
         return "redirect:/validation/v4/items/{itemId}";
 
     }
 
-}
\ No newline at end of file
+    // 등록/수정 폼의 HTML5 제약 속성과 규칙 (ClientConstraints). 폼을 그릴 때만 모델에 넣는다.
+    private String addFormView(Model model) {
+        model.addAttribute("saveConstraints", clientConstraints.of(ItemSaveForm.class));
+        return "validation/v4/addForm";
+    }
+
+    private String editFormView(Model model) {
+        model.addAttribute("updateConstraints", clientConstraints.of(ItemUpdateForm.class));
+        return "validation/v4/editForm";
+    }
+
+}
@@ -0,0 +1,17 @@
+package hello.itemservice.web.validation.form;
+
+import lombok.Data;
+
+/**
+ * 목록 조회 파라미터. cursor가 있으면 page는 무시하고 cursor 다음부터 조회한다.
+ */
+@Data
+public class ItemPageForm {
+
+    private int page = 0;
+
+    private int size = 20;
+
+    private String cursor;
+
+}
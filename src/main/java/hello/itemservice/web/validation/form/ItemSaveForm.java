@@ -1,5 +1,6 @@
 package hello.itemservice.web.validation.form;
 
+import hello.itemservice.validation.ExpressionMin;
 import lombok.Data;
 import org.hibernate.validator.constraints.Range;
 
@@ -8,6 +9,7 @@ import javax.validation.constraints.NotBlank;
 import javax.validation.constraints.NotNull;
 
 @Data
+@ExpressionMin(code = "totalPriceMin", expression = "price * quantity", min = 10000)
 public class ItemSaveForm {
 
     @NotBlank
@@ -1,5 +1,6 @@
 package hello.itemservice.web.validation.form;
 
+import hello.itemservice.validation.ExpressionMin;
 import lombok.Data;
 import org.hibernate.validator.constraints.Range;
 
@@ -7,6 +8,7 @@ import javax.validation.constraints.NotBlank;
 import javax.validation.constraints.NotNull;
 
 @Data
+@ExpressionMin(code = "totalPriceMin", expression = "price * quantity", min = 10000)
 public class ItemUpdateForm {
 
     @NotNull
@@ -22,4 +24,7 @@ public class ItemUpdateForm {
     // 수정에서는 수량은 자유롭게 변경할 수 있다. (그래서 Bean Validation을 뺏다.)
     private Integer quantity;
 
+    // 수정 화면을 열 때의 버전. 그 사이에 다른 수정이 있었으면 충돌(409)로 처리한다.
+    private Long version;
+
 }
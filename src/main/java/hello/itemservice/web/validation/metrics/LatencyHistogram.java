@@ -0,0 +1,55 @@
+package hello.itemservice.web.validation.metrics;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 지연 시간 히스토그램. 구간은 마이크로초 기준 2의 거듭제곱이다. (1, 2, 4, ... 2^30us)
+ * 기록은 LongAdder 증가뿐이라 여러 요청이 동시에 기록해도 서로 기다리지 않는다.
+ */
+public class LatencyHistogram {
+
+    private static final int BUCKETS = 32;
+
+    private final LongAdder[] buckets = new LongAdder[BUCKETS];
+    private final LongAdder count = new LongAdder();
+    private final LongAdder sumNanos = new LongAdder();
+
+    public LatencyHistogram() {
+        for (int i = 0; i < BUCKETS; i++) {
+            buckets[i] = new LongAdder();
+        }
+    }
+
+    public void record(long nanos) {
+        long micros = Math.max(nanos / 1000, 0);
+        // micros 이상인 가장 작은 2의 거듭제곱 구간 (0~1us => 0번, 2us => 1번, 3~4us => 2번 ...)
+        int bucket = micros <= 1 ? 0 : Math.min(64 - Long.numberOfLeadingZeros(micros - 1), BUCKETS - 1);
+        buckets[bucket].increment();
+        count.increment();
+        sumNanos.add(nanos);
+    }
+
+    public long getCount() {
+        return count.sum();
+    }
+
+    public long getSumMicros() {
+        return sumNanos.sum() / 1000;
+    }
+
+    /**
+     * 구간 상한(us) => 건수. 건수가 0인 구간은 빼고 반환한다. 마지막 구간은 상한보다 큰 값도 포함한다.
+     */
+    public Map<Long, Long> getBuckets() {
+        Map<Long, Long> result = new LinkedHashMap<>();
+        for (int i = 0; i < BUCKETS; i++) {
+            long value = buckets[i].sum();
+            if (value > 0) {
+                result.put(1L << i, value);
+            }
+        }
+        return result;
+    }
+}
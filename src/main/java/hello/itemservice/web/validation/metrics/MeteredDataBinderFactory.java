@@ -0,0 +1,99 @@
+package hello.itemservice.web.validation.metrics;
+
+import org.springframework.lang.Nullable;
+import org.springframework.validation.DataBinder;
+import org.springframework.web.bind.ServletRequestDataBinder;
+import org.springframework.web.bind.support.WebBindingInitializer;
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.method.support.InvocableHandlerMethod;
+import org.springframework.web.servlet.mvc.method.annotation.ExtendedServletRequestDataBinder;
+import org.springframework.web.servlet.mvc.method.annotation.ServletRequestDataBinderFactory;
+
+import javax.servlet.ServletRequest;
+import javax.servlet.http.HttpServletRequest;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 바인딩(bind)과 검증(validate) 단계의 시간을 재는 WebDataBinder를 만든다.
+ * 바인딩 대상이 있는 binder는 요청 속성에 모아 두고, 요청이 끝날 때 ValidationMetricsInterceptor가
+ * BindingResult의 오류 코드를 센다. (컨트롤러가 나중에 reject한 오류도 포함된다.)
+ * binder 설정(WebBindingInitializer)이 끝나기 전에 BindingResult를 만들면 안 되므로 binder를 모아 둔다.
+ *
+ * API(@RequestBody)는 JSON 변환이 binder 밖에서 일어나므로 validate 단계만 잰다.
+ */
+public class MeteredDataBinderFactory extends ServletRequestDataBinderFactory {
+
+    static final String BINDERS = MeteredDataBinderFactory.class.getName() + ".BINDERS";
+
+    private final ValidationMetrics metrics;
+
+    public MeteredDataBinderFactory(@Nullable List<InvocableHandlerMethod> binderMethods,
+                                    @Nullable WebBindingInitializer initializer, ValidationMetrics metrics) {
+        super(binderMethods, initializer);
+        this.metrics = metrics;
+    }
+
+    @Override
+    protected ServletRequestDataBinder createBinderInstance(@Nullable Object target, String objectName,
+                                                            NativeWebRequest request) {
+        HttpServletRequest servletRequest = request.getNativeRequest(HttpServletRequest.class);
+        if (target == null || servletRequest == null) {
+            return super.createBinderInstance(target, objectName, request);
+        }
+        MeteredDataBinder binder = new MeteredDataBinder(target, objectName, ValidationMetrics.endpoint(servletRequest));
+        binders(request).add(binder);
+        return binder;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static List<DataBinder> binders(NativeWebRequest request) {
+        List<DataBinder> binders = (List<DataBinder>) request.getAttribute(BINDERS, RequestAttributes.SCOPE_REQUEST);
+        if (binders == null) {
+            binders = new ArrayList<>(2);
+            request.setAttribute(BINDERS, binders, RequestAttributes.SCOPE_REQUEST);
+        }
+        return binders;
+    }
+
+    private class MeteredDataBinder extends ExtendedServletRequestDataBinder {
+
+        private final String endpoint;
+
+        MeteredDataBinder(Object target, String objectName, String endpoint) {
+            super(target, objectName);
+            this.endpoint = endpoint;
+        }
+
+        @Override
+        public void bind(ServletRequest request) {
+            long start = System.nanoTime();
+            try {
+                super.bind(request);
+            } finally {
+                metrics.recordTiming(endpoint, ValidationMetrics.BIND, System.nanoTime() - start);
+            }
+        }
+
+        @Override
+        public void validate() {
+            long start = System.nanoTime();
+            try {
+                super.validate();
+            } finally {
+                metrics.recordTiming(endpoint, ValidationMetrics.VALIDATE, System.nanoTime() - start);
+            }
+        }
+
+        @Override
+        public void validate(Object... validationHints) {
+            long start = System.nanoTime();
+            try {
+                super.validate(validationHints);
+            } finally {
+                metrics.recordTiming(endpoint, ValidationMetrics.VALIDATE, System.nanoTime() - start);
+            }
+        }
+    }
+}
@@ -0,0 +1,171 @@
+package hello.itemservice.web.validation.metrics;
+
+import lombok.Getter;
+import org.springframework.validation.BindingResult;
+import org.springframework.validation.ObjectError;
+import org.springframework.web.servlet.HandlerMapping;
+
+import javax.servlet.http.HttpServletRequest;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 검증 지표 저장소. (item.validation.metrics.enabled=true 일 때만 빈으로 등록된다.)
+ * - 오류 코드별 건수 : (컨트롤러 버전, 엔드포인트, 오류 코드)마다 센다.
+ *   예) (v4, POST /validation/v4/items/add, NotBlank) = 12
+ *   ItemValidator, Bean Validation, 컨트롤러의 수동 검사(reject), 타입 변환 실패(typeMismatch)가 모두
+ *   같은 BindingResult에 남으므로 요청이 끝날 때 한 번에 센다.
+ * - 단계별 지연 시간 : (엔드포인트, bind/validate)마다 히스토그램을 둔다.
+ *
+ * 버전은 경로의 /validation/ 다음 부분(v1~v4, api)이다.
+ * 엔드포인트는 실제 URL이 아니라 매핑 패턴(/validation/v4/items/{itemId}/edit)이라 개수가 늘어나지 않는다.
+ */
+public class ValidationMetrics {
+
+    public static final String BIND = "bind";
+    public static final String VALIDATE = "validate";
+
+    private final ConcurrentMap<ErrorKey, LongAdder> errors = new ConcurrentHashMap<>();
+    private final ConcurrentMap<TimingKey, LatencyHistogram> timings = new ConcurrentHashMap<>();
+
+    public void recordErrors(String endpoint, BindingResult bindingResult) {
+        if (!bindingResult.hasErrors()) {
+            return;
+        }
+        String version = version(endpoint);
+        for (ObjectError error : bindingResult.getAllErrors()) {
+            errors.computeIfAbsent(new ErrorKey(version, endpoint, error.getCode()), key -> new LongAdder()).increment();
+        }
+    }
+
+    public void recordTiming(String endpoint, String step, long nanos) {
+        timings.computeIfAbsent(new TimingKey(endpoint, step), key -> new LatencyHistogram()).record(nanos);
+    }
+
+    public List<ErrorCount> errorCounts() {
+        List<ErrorCount> result = new ArrayList<>();
+        errors.forEach((key, count) -> result.add(new ErrorCount(key.version, key.endpoint, key.code, count.sum())));
+        result.sort(Comparator.comparing(ErrorCount::getCount).reversed());
+        return result;
+    }
+
+    public List<Timing> timings() {
+        List<Timing> result = new ArrayList<>();
+        timings.forEach((key, histogram) -> result.add(new Timing(key.endpoint, key.step, histogram)));
+        result.sort(Comparator.comparing(Timing::getEndpoint).thenComparing(Timing::getStep));
+        return result;
+    }
+
+    public void clear() {
+        errors.clear();
+        timings.clear();
+    }
+
+    /**
+     * "POST /validation/v4/items/add" 처럼 HTTP 메서드와 매핑 패턴으로 엔드포인트 이름을 만든다.
+     */
+    public static String endpoint(HttpServletRequest request) {
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        return request.getMethod() + " " + (pattern != null ? pattern : request.getRequestURI());
+    }
+
+    static String version(String endpoint) {
+        String prefix = "/validation/";
+        int start = endpoint.indexOf(prefix);
+        if (start < 0) {
+            return "-";
+        }
+        start += prefix.length();
+        int end = endpoint.indexOf('/', start);
+        return end < 0 ? endpoint.substring(start) : endpoint.substring(start, end);
+    }
+
+    @Getter
+    public static class ErrorCount {
+
+        private final String version;
+        private final String endpoint;
+        private final String code;
+        private final long count;
+
+        ErrorCount(String version, String endpoint, String code, long count) {
+            this.version = version;
+            this.endpoint = endpoint;
+            this.code = code;
+            this.count = count;
+        }
+    }
+
+    @Getter
+    public static class Timing {
+
+        private final String endpoint;
+        private final String step;
+        private final LatencyHistogram histogram;
+
+        Timing(String endpoint, String step, LatencyHistogram histogram) {
+            this.endpoint = endpoint;
+            this.step = step;
+            this.histogram = histogram;
+        }
+    }
+
+    private static final class ErrorKey {
+
+        private final String version;
+        private final String endpoint;
+        private final String code;
+        private final int hash;
+
+        ErrorKey(String version, String endpoint, String code) {
+            this.version = version;
+            this.endpoint = endpoint;
+            this.code = code;
+            this.hash = Objects.hash(version, endpoint, code);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (!(o instanceof ErrorKey)) {
+                return false;
+            }
+            ErrorKey other = (ErrorKey) o;
+            return endpoint.equals(other.endpoint) && Objects.equals(code, other.code) && version.equals(other.version);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+
+    private static final class TimingKey {
+
+        private final String endpoint;
+        private final String step;
+
+        TimingKey(String endpoint, String step) {
+            this.endpoint = endpoint;
+            this.step = step;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (!(o instanceof TimingKey)) {
+                return false;
+            }
+            TimingKey other = (TimingKey) o;
+            return endpoint.equals(other.endpoint) && step.equals(other.step);
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * endpoint.hashCode() + step.hashCode();
+        }
+    }
+}
@@ -0,0 +1,65 @@
+package hello.itemservice.web.validation.metrics;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.ResponseStatus;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ResponseStatusException;
+
+import javax.servlet.http.HttpServletRequest;
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * 검증 지표 조회. 같은 서버(loopback)에서 온 요청만 받는다.
+ *
+ * GET /validation/metrics
+ * {"errors":[{"version":"v4","endpoint":"POST /validation/v4/items/add","code":"NotBlank","count":12}, ...],
+ *  "timings":[{"endpoint":"POST /validation/v4/items/add","step":"bind",
+ *              "histogram":{"count":20,"sumMicros":410,"buckets":{"16":12,"32":8}}}, ...]}
+ * DELETE /validation/metrics => 초기화
+ */
+@RestController
+@ConditionalOnProperty(name = "item.validation.metrics.enabled", havingValue = "true")
+@RequestMapping("/validation/metrics")
+@RequiredArgsConstructor
+public class ValidationMetricsController {
+
+    private final ValidationMetrics metrics;
+
+    @GetMapping
+    public Map<String, Object> metrics(HttpServletRequest request) {
+        checkLocal(request);
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("errors", metrics.errorCounts());
+        result.put("timings", metrics.timings());
+        return result;
+    }
+
+    @DeleteMapping
+    @ResponseStatus(HttpStatus.NO_CONTENT)
+    public void clear(HttpServletRequest request) {
+        checkLocal(request);
+        metrics.clear();
+    }
+
+    /**
+     * loopback이 아닌 곳에서 온 요청은 403으로 거절한다. 입장 제어 현황(AdmissionStatsController)도 같이 쓴다.
+     */
+    public static void checkLocal(HttpServletRequest request) {
+        try {
+            if (InetAddress.getByName(request.getRemoteAddr()).isLoopbackAddress()) {
+                return;
+            }
+        } catch (UnknownHostException e) {
+            // 주소를 해석할 수 없으면 외부 요청으로 본다.
+        }
+        throw new ResponseStatusException(HttpStatus.FORBIDDEN);
+    }
+}
@@ -0,0 +1,34 @@
+package hello.itemservice.web.validation.metrics;
+
+import org.springframework.validation.DataBinder;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.util.List;
+
+/**
+ * 요청이 끝나면 그 요청의 BindingResult에 남은 오류를 코드별로 센다.
+ * 검증 실패로 예외(BindException 등)가 나도 afterCompletion은 호출되므로 빠지지 않는다.
+ */
+public class ValidationMetricsInterceptor implements HandlerInterceptor {
+
+    private final ValidationMetrics metrics;
+
+    public ValidationMetricsInterceptor(ValidationMetrics metrics) {
+        this.metrics = metrics;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+        List<DataBinder> binders = (List<DataBinder>) request.getAttribute(MeteredDataBinderFactory.BINDERS);
+        if (binders == null) {
+            return;
+        }
+        String endpoint = ValidationMetrics.endpoint(request);
+        for (DataBinder binder : binders) {
+            metrics.recordErrors(endpoint, binder.getBindingResult());
+        }
+    }
+}
@@ -0,0 +1,96 @@
+/*
+ * 상품 등록/수정 폼의 브라우저 검증 (ClientConstraints)
+ * - 필드 제약은 HTML5 속성(required, pattern, min, max)으로 브라우저가 검사한다.
+ * - 여러 필드 규칙(@ExpressionMin)은 폼 안의 data-rule 요소를 읽어서 제출 전에 검사하고, 실패하면 그 요소에 메시지를 보여준다.
+ *   식이 읽는 필드 중 하나라도 비어 있으면 검사하지 않는다. (서버와 같다.)
+ * 서버가 항상 다시 검증하므로 여기서 통과해도 서버에서 오류가 날 수 있다.
+ */
+(function () {
+    'use strict';
+
+    // expression := term (('+' | '-') term)*, term := factor ('*' factor)*, factor := 필드 | 정수 | '(' expression ')'
+    function evaluate(tokens, valueOf) {
+        var pos = 0;
+
+        function expression() {
+            var value = term();
+            while (tokens[pos] === '+' || tokens[pos] === '-') {
+                var op = tokens[pos++];
+                var right = term();
+                value = op === '+' ? value + right : value - right;
+            }
+            return value;
+        }
+
+        function term() {
+            var value = factor();
+            while (tokens[pos] === '*') {
+                pos++;
+                value = value * factor();
+            }
+            return value;
+        }
+
+        function factor() {
+            var token = tokens[pos++];
+            if (token === '(') {
+                var value = expression();
+                pos++; // ')'
+                return value;
+            }
+            return /^\d+$/.test(token) ? Number(token) : valueOf(token);
+        }
+
+        return expression();
+    }
+
+    function checkRule(form, rule) {
+        var tokens = rule.getAttribute('data-expression').match(/\d+|[A-Za-z_$][\w$]*|[-+*()]/g) || [];
+        var values = {};
+        for (var i = 0; i < tokens.length; i++) {
+            if (!/^[A-Za-z_$]/.test(tokens[i])) {
+                continue;
+            }
+            var input = form.elements[tokens[i]];
+            var text = input ? input.value.trim() : '';
+            if (!/^-?\d+$/.test(text)) {
+                return true; // 비어 있거나 숫자가 아니면 필드 검증과 서버에 맡긴다.
+            }
+            values[tokens[i]] = Number(text);
+        }
+
+        var value = evaluate(tokens, function (name) {
+            return values[name];
+        });
+        if (value >= Number(rule.getAttribute('data-min'))) {
+            rule.hidden = true;
+            return true;
+        }
+        rule.textContent = rule.getAttribute('data-message').replace('{1}', value.toLocaleString());
+        rule.hidden = false;
+        return false;
+    }
+
+    document.addEventListener('DOMContentLoaded', function () {
+        var forms = document.querySelectorAll('form');
+        for (var i = 0; i < forms.length; i++) {
+            var rules = forms[i].querySelectorAll('[data-rule]');
+            if (rules.length === 0) {
+                continue;
+            }
+            for (var j = 0; j < rules.length; j++) {
+                rules[j].setAttribute('data-message', rules[j].textContent.trim());
+            }
+            forms[i].addEventListener('submit', function (event) {
+                var valid = true;
+                var formRules = this.querySelectorAll('[data-rule]');
+                for (var k = 0; k < formRules.length; k++) {
+                    valid = checkRule(this, formRules[k]) && valid;
+                }
+                if (!valid) {
+                    event.preventDefault();
+                }
+            });
+        }
+    });
+})();
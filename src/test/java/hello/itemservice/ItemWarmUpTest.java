@@ -0,0 +1,63 @@
+package hello.itemservice;
+
+import hello.itemservice.domain.item.ItemRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfEnvironmentVariable;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.web.server.LocalServerPort;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+
+import static org.assertj.core.api.Assertions.*;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = "item.warm-up.enabled=true")
+class ItemWarmUpTest {
+
+    @Autowired
+    ItemWarmUp itemWarmUp;
+
+    @Autowired
+    ItemRepository itemRepository;
+
+    @LocalServerPort
+    int port;
+
+    @Test
+    void warmUpBeforeFirstRequest() throws Exception {
+        //given
+        int count = itemRepository.count();
+
+        //when
+        HttpClient client = HttpClient.newHttpClient();
+        HttpResponse<Void> response = client.send(
+                HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/validation/v4/items/add"))
+                        .header("Content-Type", "application/x-www-form-urlencoded")
+                        .POST(HttpRequest.BodyPublishers.ofString(ItemWarmUp.INVALID_FORM))
+                        .build(),
+                HttpResponse.BodyHandlers.discarding());
+
+        //then
+        assertThat(response.statusCode()).isEqualTo(200);
+        assertThat(itemWarmUp.getReport()).isNotEmpty();
+        assertThat(itemWarmUp.getReport()).allSatisfy(timing -> assertThat(timing.getStatus()).isLessThan(500));
+        // 워밍업은 상품을 저장하지 않는다.
+        assertThat(itemRepository.count()).isEqualTo(count);
+    }
+
+    /**
+     * 엔드포인트별로 워밍업 전(cold)과 후(warm)의 처리 시간을 출력한다.
+     */
+    @Test
+    @EnabledIfEnvironmentVariable(named = "BENCHMARK", matches = "true")
+    void warmUpTimings() {
+        for (ItemWarmUp.Timing timing : itemWarmUp.getReport()) {
+            System.out.printf("%-4s %-40s status=%d cold=%dus warm=%dus%n", timing.getMethod(), timing.getPath(),
+                    timing.getStatus(), timing.getColdMicros(), timing.getWarmMicros());
+        }
+    }
+}
@@ -0,0 +1,46 @@
+package hello.itemservice;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfEnvironmentVariable;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * MVC 상품 API(톰캣, 요청 스레드 200개)와 리액티브 상품 API(Netty 이벤트 루프)의 부하 비교.
+ * 느린 클라이언트 수천 개가 연결을 붙잡고 있는 동안 보통 클라이언트의 처리량과 p50/p99 지연을 잰다. (SlowClientLoad)
+ * 소켓을 수천 개 열므로 ulimit -n 을 넉넉히 둔다. BENCHMARK=true 환경변수가 있을 때만 실행한다.
+ */
+@EnabledIfEnvironmentVariable(named = "BENCHMARK", matches = "true")
+class ReactiveItemApiLoadTest {
+
+    static final int SLOW_CLIENTS = 2000;
+    static final int FAST_CLIENTS = 32;
+
+    @Test
+    void mvcVsWebFlux() throws Exception {
+        SlowClientLoad.Result mvc = run(ItemServiceApplication.class, WebApplicationType.SERVLET, "mvc");
+        SlowClientLoad.Result webFlux = run(ReactiveItemApiApplication.class, WebApplicationType.REACTIVE, "webflux");
+
+        System.out.println(SlowClientLoad.HEADER);
+        System.out.println(mvc);
+        System.out.println(webFlux);
+        assertThat(webFlux.fastRequests).isPositive();
+    }
+
+    private SlowClientLoad.Result run(Class<?> application, WebApplicationType type, String mode) throws Exception {
+        ConfigurableApplicationContext context = new SpringApplicationBuilder(application)
+                .web(type)
+                .properties("server.port=0")
+                .run();
+        try {
+            int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+            return SlowClientLoad.run(mode, port, SLOW_CLIENTS, FAST_CLIENTS);
+        } finally {
+            context.close();
+        }
+    }
+}
@@ -0,0 +1,49 @@
+package hello.itemservice;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfEnvironmentVariable;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.junit.jupiter.api.Assumptions.*;
+
+/**
+ * 톰캣 스레드 풀(기본 200개)과 가상 스레드(item.virtual-threads.enabled=true)의 부하 비교.
+ * 느린 클라이언트(SLOW_CLIENTS개)가 요청 스레드를 붙잡고 있는 동안, 보통 클라이언트(FAST_CLIENTS개)의
+ * 목록 조회 처리량과 p50/p99 지연을 잰다. (SlowClientLoad)
+ * 가상 스레드는 Java 21 이상이 필요하다. BENCHMARK=true 환경변수가 있을 때만 실행한다.
+ * ./gradlew loadTestVirtualThreads => Java 21 툴체인으로 이 테스트만 실행한다.
+ */
+@EnabledIfEnvironmentVariable(named = "BENCHMARK", matches = "true")
+class RequestThreadLoadTest {
+
+    static final int SLOW_CLIENTS = 400;
+    static final int FAST_CLIENTS = 32;
+
+    @Test
+    void platformVsVirtualThreads() throws Exception {
+        assumeTrue(Runtime.version().feature() >= 21, "가상 스레드는 Java 21 이상이 필요합니다.");
+
+        SlowClientLoad.Result platform = run(false);
+        SlowClientLoad.Result virtual = run(true);
+
+        System.out.println(SlowClientLoad.HEADER);
+        System.out.println(platform);
+        System.out.println(virtual);
+        assertThat(virtual.fastRequests).isPositive();
+    }
+
+    private SlowClientLoad.Result run(boolean virtualThreads) throws Exception {
+        ConfigurableApplicationContext context = new SpringApplicationBuilder(ItemServiceApplication.class)
+                .properties("server.port=0", "item.virtual-threads.enabled=" + virtualThreads)
+                .run();
+        try {
+            int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+            return SlowClientLoad.run(virtualThreads ? "virtual" : "platform", port, SLOW_CLIENTS, FAST_CLIENTS);
+        } finally {
+            context.close();
+        }
+    }
+}
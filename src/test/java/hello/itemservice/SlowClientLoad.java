@@ -0,0 +1,160 @@
+package hello.itemservice;
+
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.Socket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 느린 클라이언트가 섞인 부하를 주고 결과를 잰다. (부하 비교 벤치마크들이 같이 쓴다.)
+ * - 느린 클라이언트 : POST /validation/api/items/add 의 헤더를 보낸 뒤 SLOW_BODY_DELAY_MILLIS 만큼 쉬었다가 본문을 보낸다.
+ * - 보통 클라이언트 : GET /validation/api/items 를 쉬지 않고 보내면서 지연 시간을 기록한다.
+ * 워밍업(WARM_UP_MILLIS) 뒤 DURATION_MILLIS 동안의 처리량과 p50/p99 지연을 돌려준다.
+ * 느린 클라이언트 수만큼 소켓을 여므로 수천 개로 돌릴 때는 ulimit -n 을 늘려야 한다.
+ */
+class SlowClientLoad {
+
+    static final long SLOW_BODY_DELAY_MILLIS = 200;
+    static final long WARM_UP_MILLIS = 2000;
+    static final long DURATION_MILLIS = 5000;
+    static final String BODY = "{\"itemName\":\"itemA\",\"price\":10000,\"quantity\":10}";
+    static final String HEADER = "mode       fast req/s   p50(ms)   p99(ms)   slow req/s";
+
+    static Result run(String mode, int port, int slowClients, int fastClients) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(slowClients + fastClients);
+        HttpClient client = HttpClient.newHttpClient();
+        HttpRequest list = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/validation/api/items")).build();
+        AtomicBoolean running = new AtomicBoolean(true);
+        AtomicBoolean measuring = new AtomicBoolean(false);
+        CountDownLatch start = new CountDownLatch(1);
+        LongAdder slowRequests = new LongAdder();
+
+        for (int i = 0; i < slowClients; i++) {
+            executor.submit(() -> {
+                await(start);
+                while (running.get()) {
+                    if (slowPost(port) && measuring.get()) {
+                        slowRequests.increment();
+                    }
+                }
+                return null;
+            });
+        }
+        List<Future<long[]>> fast = new ArrayList<>();
+        for (int i = 0; i < fastClients; i++) {
+            fast.add(executor.submit(() -> {
+                await(start);
+                long[] latencies = new long[1024];
+                int count = 0;
+                while (running.get()) {
+                    long begin = System.nanoTime();
+                    HttpResponse<Void> response = client.send(list, HttpResponse.BodyHandlers.discarding());
+                    long elapsed = System.nanoTime() - begin;
+                    if (response.statusCode() == 200 && measuring.get()) {
+                        if (count == latencies.length) {
+                            latencies = Arrays.copyOf(latencies, count * 2);
+                        }
+                        latencies[count++] = elapsed;
+                    }
+                }
+                return Arrays.copyOf(latencies, count);
+            }));
+        }
+
+        start.countDown();
+        Thread.sleep(WARM_UP_MILLIS);
+        measuring.set(true);
+        Thread.sleep(DURATION_MILLIS);
+        measuring.set(false);
+        running.set(false);
+
+        List<long[]> all = new ArrayList<>();
+        for (Future<long[]> future : fast) {
+            all.add(future.get());
+        }
+        executor.shutdown();
+        executor.awaitTermination(30, TimeUnit.SECONDS);
+
+        long[] latencies = all.stream().flatMapToLong(Arrays::stream).sorted().toArray();
+        return new Result(mode, latencies.length, percentile(latencies, 0.50), percentile(latencies, 0.99),
+                slowRequests.sum());
+    }
+
+    /**
+     * 헤더만 보내고 쉬었다가 본문을 보낸다. 블로킹 서버는 본문을 읽는 동안 요청 스레드를 붙잡고 있다.
+     */
+    private static boolean slowPost(int port) {
+        byte[] body = BODY.getBytes(StandardCharsets.UTF_8);
+        String head = "POST /validation/api/items/add HTTP/1.1\r\n"
+                + "Host: localhost\r\n"
+                + "Content-Type: application/json\r\n"
+                + "Content-Length: " + body.length + "\r\n"
+                + "Connection: close\r\n\r\n";
+        try (Socket socket = new Socket("localhost", port)) {
+            OutputStream out = socket.getOutputStream();
+            out.write(head.getBytes(StandardCharsets.US_ASCII));
+            out.flush();
+            Thread.sleep(SLOW_BODY_DELAY_MILLIS);
+            out.write(body);
+            out.flush();
+            InputStream in = socket.getInputStream();
+            byte[] status = in.readNBytes(12);
+            in.transferTo(OutputStream.nullOutputStream());
+            return new String(status, StandardCharsets.US_ASCII).startsWith("HTTP/1.1 2");
+        } catch (Exception e) {
+            return false;
+        }
+    }
+
+    private static double percentile(long[] sorted, double p) {
+        if (sorted.length == 0) {
+            return Double.NaN;
+        }
+        int index = (int) Math.min(sorted.length - 1, Math.ceil(p * sorted.length) - 1);
+        return sorted[Math.max(index, 0)] / 1_000_000.0;
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    static class Result {
+        final String mode;
+        final long fastRequests;
+        final double p50;
+        final double p99;
+        final long slowRequests;
+
+        Result(String mode, long fastRequests, double p50, double p99, long slowRequests) {
+            this.mode = mode;
+            this.fastRequests = fastRequests;
+            this.p50 = p50;
+            this.p99 = p99;
+            this.slowRequests = slowRequests;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%-10s %10d %9.2f %9.2f %12d", mode,
+                    fastRequests * 1000 / DURATION_MILLIS, p50, p99, slowRequests * 1000 / DURATION_MILLIS);
+        }
+    }
+}
@@ -0,0 +1,101 @@
+package hello.itemservice.domain.item;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+
+class ColumnarItemStoreTest {
+
+    ColumnarItemStore store = new ColumnarItemStore();
+
+    @Test
+    void putAndGet() {
+        //given
+        Item item = item(1L, "itemA", 10000, 10);
+
+        //when
+        store.put(item);
+
+        //then
+        Item findItem = store.get(1L);
+        assertThat(findItem).isEqualTo(item);
+        assertThat(findItem).isNotSameAs(item);
+        assertThat(store.get(2L)).isNull();
+    }
+
+    @Test
+    void nullFields() {
+        //given
+        Item item = item(1L, null, null, null);
+
+        //when
+        store.put(item);
+
+        //then
+        assertThat(store.get(1L)).isEqualTo(item);
+    }
+
+    @Test
+    void compareAndSet() {
+        //given
+        Item item = item(1L, "item", 10000, 10);
+        store.put(item);
+
+        //when
+        Item update = item(1L, "longer item name", 20000, 20);
+        update.setVersion(2L);
+        boolean replaced = store.compareAndSet(item, update);
+        boolean stale = store.compareAndSet(item, item(1L, "stale", 10000, 10));
+        boolean missing = store.compareAndSet(item(2L, "item", 10000, 10), item(2L, "item", 10000, 10));
+
+        //then
+        assertThat(replaced).isTrue();
+        assertThat(stale).isFalse();
+        assertThat(missing).isFalse();
+        assertThat(store.get(1L)).isEqualTo(update);
+    }
+
+    @Test
+    void compareAndSetWithoutVersion() {
+        //given
+        Item unversioned = item(1L, "item", 10000, 10);
+        unversioned.setVersion(null);
+        store.put(unversioned);
+        store.put(item(2L, "item", 10000, 10));
+
+        //when
+        Item expectNone = item(2L, "item", 10000, 10);
+        expectNone.setVersion(null);
+        boolean mismatch = store.compareAndSet(expectNone, item(2L, "other", 10000, 10));
+        boolean replaced = store.compareAndSet(unversioned, item(1L, "other", 10000, 10));
+
+        //then
+        assertThat(mismatch).isFalse();
+        assertThat(replaced).isTrue();
+    }
+
+    @Test
+    void findAllKeepsIdOrder() {
+        //given
+        for (long id = 3000; id > 0; id--) {
+            store.put(item(id, "상품" + id, 1000, 1));
+        }
+
+        //when
+        List<Item> result = store.findAll();
+
+        //then
+        assertThat(result.size()).isEqualTo(3000);
+        assertThat(result).extracting(Item::getId).isSorted();
+        assertThat(result.get(0).getItemName()).isEqualTo("상품1");
+    }
+
+    private static Item item(Long id, String itemName, Integer price, Integer quantity) {
+        Item item = new Item(itemName, price, quantity);
+        item.setId(id);
+        item.setVersion(1L);
+        return item;
+    }
+}
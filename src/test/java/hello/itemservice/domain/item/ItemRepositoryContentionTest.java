@@ -0,0 +1,106 @@
+package hello.itemservice.domain.item;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfEnvironmentVariable;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 쓰기 스레드가 동작하는 중에 목록 조회(findAll) 처리량이 읽기 스레드 수에 따라 늘어나는지 확인하는 벤치마크.
+ * 읽기가 스냅샷 복사를 서로 기다리면 읽기 스레드당 처리량이 스레드 수에 반비례해서 떨어지므로,
+ * 가장 많은 읽기 스레드에서도 읽기 스레드당 처리량이 혼자 읽을 때의 1/4 밑으로 떨어지지 않아야 한다.
+ * 시간이 걸리므로 BENCHMARK=true 환경변수가 있을 때만 실행한다.
+ */
+@EnabledIfEnvironmentVariable(named = "BENCHMARK", matches = "true")
+class ItemRepositoryContentionTest {
+
+    static final int WRITERS = 2;
+    static final long DURATION_MILLIS = 1000;
+
+    ItemRepository itemRepository = new ItemRepository();
+
+    @AfterEach
+    void afterEach() {
+        itemRepository.clearStore();
+    }
+
+    @Test
+    void readScalingWithActiveWriters() throws Exception {
+        for (int i = 0; i < 1000; i++) {
+            itemRepository.save(new Item("item" + i, 10000, 10));
+        }
+
+        int maxReaders = Math.max(2, Runtime.getRuntime().availableProcessors());
+        long single = 0;
+        long perReader = 0;
+        for (int readers = 1; readers <= maxReaders; readers *= 2) {
+            long reads = run(readers);
+            System.out.printf("readers=%d writers=%d findAll/sec=%d%n",
+                    readers, WRITERS, reads * 1000 / DURATION_MILLIS);
+            perReader = reads / readers;
+            if (readers == 1) {
+                single = perReader;
+            }
+        }
+
+        assertThat(single).isPositive();
+        assertThat(perReader).isGreaterThanOrEqualTo(single / 4);
+    }
+
+    private long run(int readers) throws InterruptedException {
+        ExecutorService executor = Executors.newFixedThreadPool(readers + WRITERS);
+        AtomicBoolean running = new AtomicBoolean(true);
+        CountDownLatch start = new CountDownLatch(1);
+        LongAdder reads = new LongAdder();
+        List<Long> ids = new ArrayList<>();
+        for (Item item : itemRepository.findAll()) {
+            ids.add(item.getId());
+        }
+
+        for (int i = 0; i < WRITERS; i++) {
+            executor.submit(() -> {
+                await(start);
+                int n = 0;
+                while (running.get()) {
+                    Long itemId = ids.get(n++ % ids.size());
+                    itemRepository.update(itemId, new Item("updated", 20000, 20));
+                }
+            });
+        }
+        for (int i = 0; i < readers; i++) {
+            executor.submit(() -> {
+                await(start);
+                while (running.get()) {
+                    if (!itemRepository.findAll().isEmpty()) {
+                        reads.increment();
+                    }
+                }
+            });
+        }
+
+        start.countDown();
+        Thread.sleep(DURATION_MILLIS);
+        running.set(false);
+        executor.shutdown();
+        executor.awaitTermination(10, TimeUnit.SECONDS);
+        return reads.sum();
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -3,7 +3,11 @@ package hello.itemservice.domain.item;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.Test;
 
+import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 import static org.assertj.core.api.Assertions.*;
 
@@ -65,4 +69,203 @@ class ItemRepositoryTest {
         assertThat(findItem.getPrice()).isEqualTo(updateParam.getPrice());
         assertThat(findItem.getQuantity()).isEqualTo(updateParam.getQuantity());
     }
+
+    @Test
+    void concurrentSave() throws Exception {
+        //given
+        int threads = 8;
+        int perThread = 1000;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+
+        //when
+        List<Future<?>> futures = new ArrayList<>();
+        for (int i = 0; i < threads; i++) {
+            futures.add(executor.submit(() -> {
+                for (int j = 0; j < perThread; j++) {
+                    itemRepository.save(new Item("item", 10000, 10));
+                }
+            }));
+        }
+        for (Future<?> future : futures) {
+            future.get();
+        }
+        executor.shutdown();
+
+        //then
+        List<Item> result = itemRepository.findAll();
+        assertThat(result.size()).isEqualTo(threads * perThread);
+        assertThat(result).extracting(Item::getId).doesNotHaveDuplicates();
+    }
+
+    @Test
+    void findAllIsSnapshot() {
+        //given
+        Item item1 = itemRepository.save(new Item("item1", 10000, 10));
+        List<Item> before = itemRepository.findAll();
+
+        //when
+        itemRepository.save(new Item("item2", 20000, 20));
+
+        //then
+        assertThat(before).containsExactly(item1);
+        assertThat(itemRepository.findAll().size()).isEqualTo(2);
+        assertThatThrownBy(() -> before.add(item1)).isInstanceOf(UnsupportedOperationException.class);
+    }
+
+    @Test
+    void findAllRebuildsSnapshotOnlyAfterWrite() {
+        //given
+        itemRepository.save(new Item("item1", 10000, 10));
+        List<Item> first = itemRepository.findAll();
+
+        //when
+        List<Item> unchanged = itemRepository.findAll();
+        itemRepository.save(new Item("item2", 20000, 20));
+        itemRepository.save(new Item("item3", 30000, 30));
+        List<Item> afterWrites = itemRepository.findAll();
+
+        //then
+        assertThat(unchanged).isSameAs(first);
+        assertThat(afterWrites).hasSize(3);
+        assertThat(itemRepository.findAll()).isSameAs(afterWrites);
+    }
+
+    @Test
+    void findPage() {
+        //given
+        for (int i = 1; i <= 5; i++) {
+            itemRepository.save(new Item("item" + i, 10000, 10));
+        }
+
+        //when
+        ItemPage first = itemRepository.findPage(0, 2);
+        ItemPage last = itemRepository.findPage(2, 2);
+
+        //then
+        assertThat(first.getItems()).extracting(Item::getItemName).containsExactly("item1", "item2");
+        assertThat(first.hasNext()).isTrue();
+        assertThat(last.getItems()).extracting(Item::getItemName).containsExactly("item5");
+        assertThat(last.hasNext()).isFalse();
+    }
+
+    @Test
+    void findAfter() {
+        //given
+        for (int i = 1; i <= 5; i++) {
+            itemRepository.save(new Item("item" + i, 10000, 10));
+        }
+        ItemPage first = itemRepository.findAfter(0L, 3);
+
+        //when
+        itemRepository.save(new Item("item6", 10000, 10));
+        ItemPage next = itemRepository.findAfter(first.getLastId(), 3);
+
+        //then
+        assertThat(first.getItems()).extracting(Item::getItemName).containsExactly("item1", "item2", "item3");
+        assertThat(next.getItems()).extracting(Item::getItemName).containsExactly("item4", "item5", "item6");
+        assertThat(next.hasNext()).isFalse();
+    }
+
+    @Test
+    void findAllByCond() {
+        //given
+        Item item1 = itemRepository.save(new Item("item1", 1000, 50));
+        Item item2 = itemRepository.save(new Item("item2", 5000, 5));
+        Item item3 = itemRepository.save(new Item("item3", 9000, 1));
+
+        //when
+        List<Item> priceRange = itemRepository.findAll(new ItemSearchCond(2000, 9000, null, null), 10);
+        List<Item> lowQuantity = itemRepository.findAll(new ItemSearchCond(null, null, null, 9), 10);
+        List<Item> both = itemRepository.findAll(new ItemSearchCond(null, 5000, null, 9), 10);
+
+        //then
+        assertThat(priceRange).containsExactly(item2, item3);
+        assertThat(lowQuantity).containsExactly(item3, item2);
+        assertThat(both).containsExactly(item2);
+    }
+
+    @Test
+    void indexFollowsUpdate() {
+        //given
+        Item item = itemRepository.save(new Item("item1", 1000, 10));
+
+        //when
+        itemRepository.update(item.getId(), new Item("item1", 30000, 10));
+
+        //then
+        assertThat(itemRepository.findAll(new ItemSearchCond(null, 2000, null, null), 10)).isEmpty();
+        assertThat(itemRepository.findAll(new ItemSearchCond(20000, 40000, null, null), 10))
+                .extracting(Item::getPrice).containsExactly(30000);
+    }
+
+    @Test
+    void saveAll() {
+        //given
+        List<Item> items = List.of(new Item("item1", 10000, 10), new Item("item2", 20000, 20));
+
+        //when
+        itemRepository.saveAll(items);
+
+        //then
+        assertThat(items).extracting(Item::getId).containsExactly(1L, 2L);
+        assertThat(itemRepository.findAll()).containsExactlyElementsOf(items);
+        assertThat(itemRepository.findAll(new ItemSearchCond(15000, null, null, null), 10)).containsExactly(items.get(1));
+    }
+
+    @Test
+    void updateIncrementsVersion() {
+        //given
+        Item item = itemRepository.save(new Item("item1", 10000, 10));
+
+        //when
+        itemRepository.update(item.getId(), new Item("item2", 20000, 20));
+
+        //then
+        assertThat(item.getVersion()).isEqualTo(1L);
+        assertThat(itemRepository.findById(item.getId()).getVersion()).isEqualTo(2L);
+    }
+
+    @Test
+    void updateWithStaleVersion() {
+        //given
+        Item item = itemRepository.save(new Item("item1", 10000, 10));
+        itemRepository.update(item.getId(), new Item("item2", 20000, 20));
+
+        //when
+        boolean stale = itemRepository.update(item.getId(), new Item("item3", 30000, 30), 1L);
+        boolean current = itemRepository.update(item.getId(), new Item("item4", 40000, 40), 2L);
+        boolean missing = itemRepository.update(999L, new Item("item5", 50000, 50), 1L);
+
+        //then
+        assertThat(stale).isFalse();
+        assertThat(current).isTrue();
+        assertThat(missing).isFalse();
+        Item findItem = itemRepository.findById(item.getId());
+        assertThat(findItem.getItemName()).isEqualTo("item4");
+        assertThat(findItem.getVersion()).isEqualTo(3L);
+    }
+
+    @Test
+    void concurrentUpdate() throws Exception {
+        //given
+        Item item = itemRepository.save(new Item("item", 0, 10));
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+
+        //when
+        List<Future<?>> futures = new ArrayList<>();
+        for (int i = 1; i <= 1000; i++) {
+            int price = i;
+            futures.add(executor.submit(() -> itemRepository.update(item.getId(), new Item("item", price, 10))));
+        }
+        for (Future<?> future : futures) {
+            future.get();
+        }
+        executor.shutdown();
+
+        //then
+        Item findItem = itemRepository.findById(item.getId());
+        assertThat(findItem.getVersion()).isEqualTo(1001L);
+        assertThat(itemRepository.findAll(new ItemSearchCond(0, 1000, null, null), 2000))
+                .extracting(Item::getPrice).containsExactly(findItem.getPrice());
+    }
 }
@@ -0,0 +1,77 @@
+package hello.itemservice.domain.item;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfEnvironmentVariable;
+
+import java.lang.ref.Reference;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * 기존 HashMap&lt;Long, Item&gt; 방식과 저장소별 힙 사용량을 비교한다.
+ * 10M 건은 힙이 넉넉해야 하므로 BENCHMARK=true 환경변수가 있을 때만 실행한다. (예: -Xmx4g)
+ */
+@EnabledIfEnvironmentVariable(named = "BENCHMARK", matches = "true")
+class ItemStoreFootprintTest {
+
+    static final int FILL_CHUNK = 10_000;
+
+    @Test
+    void footprint() {
+        for (int count : new int[]{1_000_000, 10_000_000}) {
+            measure("HashMap", count, () -> {
+                Map<Long, Item> map = new HashMap<>();
+                for (long id = 1; id <= count; id++) {
+                    map.put(id, item(id));
+                }
+                return map;
+            });
+            measure("MapItemStore", count, () -> fill(new MapItemStore(), count));
+            measure("ColumnarItemStore", count, () -> fill(new ColumnarItemStore(), count));
+        }
+    }
+
+    private static ItemStore fill(ItemStore store, int count) {
+        // putAll로 나누어 넣는다. (한 번에 다 만들면 컬럼 저장소도 측정 중에 Item 객체 10M 개를 들고 있게 된다.)
+        List<Item> chunk = new ArrayList<>(FILL_CHUNK);
+        for (long id = 1; id <= count; id++) {
+            chunk.add(item(id));
+            if (chunk.size() == FILL_CHUNK) {
+                store.putAll(chunk);
+                chunk.clear();
+            }
+        }
+        store.putAll(chunk);
+        // 목록 화면이 한 번 읽은 상태를 잰다. (MapItemStore는 이때 스냅샷을 만든다.)
+        store.findAll();
+        return store;
+    }
+
+    private static Item item(long id) {
+        // 캐시되는 작은 Integer가 아닌 값을 써서 실제 박싱 비용이 드러나게 한다.
+        Item item = new Item("item" + id, 1000 + (int) (id % 100000), 200 + (int) (id % 9000));
+        item.setId(id);
+        return item;
+    }
+
+    private static void measure(String name, int count, Supplier<Object> factory) {
+        long before = usedHeap();
+        Object holder = factory.get();
+        long after = usedHeap();
+        long bytes = after - before;
+        System.out.printf("%s items=%d heap=%dMB bytes/item=%d%n",
+                name, count, bytes / (1024 * 1024), bytes / count);
+        Reference.reachabilityFence(holder); // holder가 측정 전에 수거되지 않도록 참조를 유지한다.
+    }
+
+    private static long usedHeap() {
+        Runtime runtime = Runtime.getRuntime();
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+}
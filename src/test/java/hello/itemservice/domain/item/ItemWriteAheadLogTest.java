@@ -0,0 +1,133 @@
+package hello.itemservice.domain.item;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.MappedByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.*;
+
+class ItemWriteAheadLogTest {
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void recoverAfterRestart() throws IOException {
+        //given
+        ItemRepository itemRepository = open();
+        Item itemA = itemRepository.save(new Item("itemA", 10000, 10));
+        Item itemB = itemRepository.save(new Item("itemB", 20000, 20));
+        itemRepository.update(itemA.getId(), new Item("itemA2", 15000, null));
+        itemRepository.close();
+
+        //when
+        ItemRepository reopened = open();
+
+        //then
+        assertThat(reopened.findAll()).extracting(Item::getItemName).containsExactly("itemA2", "itemB");
+        assertThat(reopened.findById(itemA.getId()).getQuantity()).isNull();
+        assertThat(reopened.findAll(new ItemSearchCond(20000, null, null, null), 10)).containsExactly(itemB);
+        assertThat(reopened.save(new Item("itemC", 1000, 10)).getId()).isEqualTo(3L);
+        reopened.close();
+    }
+
+    @Test
+    void concurrentWritersShareGroupCommit() throws Exception {
+        //given
+        ItemRepository itemRepository = open();
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+
+        //when
+        List<Future<?>> futures = new ArrayList<>();
+        for (int i = 0; i < 8; i++) {
+            futures.add(executor.submit(() -> {
+                for (int j = 0; j < 200; j++) {
+                    itemRepository.save(new Item("item", 10000, 10));
+                }
+            }));
+        }
+        for (Future<?> future : futures) {
+            future.get();
+        }
+        executor.shutdown();
+        itemRepository.close();
+
+        //then
+        ItemRepository reopened = open();
+        assertThat(reopened.count()).isEqualTo(1600);
+        reopened.close();
+    }
+
+    @Test
+    void snapshotCompactsSegments() throws Exception {
+        //given
+        ItemRepository itemRepository = open();
+        Item item = itemRepository.save(new Item("item", 10000, 10));
+
+        //when
+        for (int i = 0; i < 2000; i++) {
+            itemRepository.update(item.getId(), new Item("item" + i, 10000 + i, 10));
+        }
+        itemRepository.close();
+
+        //then
+        assertThat(countFiles("snapshot-")).isEqualTo(1);
+        assertThat(countFiles(".log")).isLessThan(10);
+        ItemRepository reopened = open();
+        assertThat(reopened.findById(item.getId()).getItemName()).isEqualTo("item1999");
+        reopened.close();
+    }
+
+    @Test
+    void flushFailureRollsBackWrites() throws IOException {
+        //given
+        AtomicBoolean diskFailed = new AtomicBoolean();
+        ItemRepository itemRepository = new ItemRepository(ItemRepository.Storage.MAP, snapshotSource ->
+                new ItemWriteAheadLog(dir, 4096, 2, snapshotSource) {
+                    @Override
+                    void force(MappedByteBuffer target) {
+                        if (diskFailed.get()) {
+                            throw new UncheckedIOException(new IOException("디스크 오류"));
+                        }
+                        super.force(target);
+                    }
+                });
+        Item item = itemRepository.save(new Item("item", 10000, 10));
+
+        //when
+        diskFailed.set(true);
+
+        //then
+        assertThatThrownBy(() -> itemRepository.update(item.getId(), new Item("updated", 20000, 20)))
+                .isInstanceOf(IllegalStateException.class);
+        assertThatThrownBy(() -> itemRepository.save(new Item("itemB", 30000, 30)))
+                .isInstanceOf(IllegalStateException.class);
+        assertThat(itemRepository.findAll()).containsExactly(item);
+        assertThat(itemRepository.findById(item.getId()).getVersion()).isEqualTo(1L);
+        assertThat(itemRepository.findAll(new ItemSearchCond(15000, null, null, null), 10)).isEmpty();
+        assertThat(itemRepository.findAll(new ItemSearchCond(null, null, 10, 10), 10)).containsExactly(item);
+        itemRepository.close();
+    }
+
+    private ItemRepository open() {
+        return new ItemRepository(ItemRepository.Storage.MAP, dir.toString(), 4096, 2);
+    }
+
+    private long countFiles(String pattern) throws IOException {
+        try (Stream<Path> files = Files.list(dir)) {
+            return files.filter(file -> file.getFileName().toString().contains(pattern)).count();
+        }
+    }
+}
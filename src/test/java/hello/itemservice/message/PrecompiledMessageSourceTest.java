@@ -0,0 +1,113 @@
+package hello.itemservice.message;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfEnvironmentVariable;
+import org.springframework.context.MessageSource;
+import org.springframework.context.MessageSourceResolvable;
+import org.springframework.context.NoSuchMessageException;
+import org.springframework.context.support.DefaultMessageSourceResolvable;
+import org.springframework.context.support.ResourceBundleMessageSource;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Locale;
+
+import static org.assertj.core.api.Assertions.*;
+
+class PrecompiledMessageSourceTest {
+
+    PrecompiledMessageSource ms = new PrecompiledMessageSource(List.of("messages", "errors"),
+            StandardCharsets.UTF_8, List.of(Locale.KOREAN, Locale.ENGLISH), true);
+    ResourceBundleMessageSource bundle = bundleMessageSource();
+
+    static final MessageSourceResolvable PRICE_RANGE = new DefaultMessageSourceResolvable(
+            new String[]{"Range.item.price", "Range.price", "Range.java.lang.Integer", "Range"},
+            new Object[]{new DefaultMessageSourceResolvable(new String[]{"item.price", "price"}, "price"), 1000000L, 1000L});
+
+    @Test
+    void sameAsResourceBundleMessageSource() {
+        for (Locale locale : new Locale[]{Locale.KOREA, Locale.ENGLISH, Locale.US, Locale.FRENCH}) {
+            for (String code : new String[]{"hello", "label.item.price", "page.next", "required", "typeMismatch"}) {
+                assertThat(ms.getMessage(code, null, locale)).isEqualTo(bundle.getMessage(code, null, locale));
+            }
+            assertThat(ms.getMessage("hello.name", new Object[]{"Spring"}, locale))
+                    .isEqualTo(bundle.getMessage("hello.name", new Object[]{"Spring"}, locale));
+            assertThat(ms.getMessage("range.item.price", new Object[]{1000, 1000000}, locale))
+                    .isEqualTo(bundle.getMessage("range.item.price", new Object[]{1000, 1000000}, locale));
+            assertThat(ms.getMessage(PRICE_RANGE, locale)).isEqualTo(bundle.getMessage(PRICE_RANGE, locale));
+        }
+    }
+
+    @Test
+    void mostSpecificCode() {
+        MessageSourceResolvable required = new DefaultMessageSourceResolvable(
+                new String[]{"required.item.itemName", "required.itemName", "required.java.lang.String", "required"});
+        MessageSourceResolvable requiredQuantity = new DefaultMessageSourceResolvable(
+                new String[]{"required.item.quantity", "required.quantity", "required.java.lang.Integer", "required"});
+
+        assertThat(ms.getMessage(required, Locale.KOREA)).isEqualTo("상품 이름은 필수 입니다.");
+        assertThat(ms.getMessage(required, Locale.KOREA)).isEqualTo("상품 이름은 필수 입니다.");
+        assertThat(ms.getMessage(requiredQuantity, Locale.KOREA)).isEqualTo("필수 숫자입니다.");
+    }
+
+    @Test
+    void codesCachedByContent() {
+        for (int i = 0; i < 100; i++) {
+            // 요청마다 새로 만든 배열이어도 내용이 같으면 캐시 항목 하나를 같이 쓴다.
+            MessageSourceResolvable required = new DefaultMessageSourceResolvable(
+                    new String[]{"required.item.itemName", "required.itemName", "required.java.lang.String", "required"});
+            MessageSourceResolvable missing = new DefaultMessageSourceResolvable(
+                    new String[]{"no_code.item", "no_code"}, "기본 메시지");
+
+            assertThat(ms.getMessage(required, Locale.KOREA)).isEqualTo("상품 이름은 필수 입니다.");
+            assertThat(ms.getMessage(missing, Locale.KOREA)).isEqualTo("기본 메시지");
+        }
+
+        assertThat(ms.cachedCodes(Locale.KOREA)).isEqualTo(2);
+    }
+
+    @Test
+    void notFound() {
+        assertThatThrownBy(() -> ms.getMessage("no_code", null, Locale.KOREA))
+                .isInstanceOf(NoSuchMessageException.class);
+        assertThat(ms.getMessage("no_code", new Object[]{1}, "기본 메시지 {0}", Locale.KOREA)).isEqualTo("기본 메시지 1");
+        assertThat(ms.getMessage("no_code", null, null, Locale.KOREA)).isNull();
+    }
+
+    @Test
+    void reload() {
+        String before = ms.getMessage("label.item.price", null, Locale.ENGLISH);
+
+        ms.reload();
+
+        assertThat(ms.getMessage("label.item.price", null, Locale.ENGLISH)).isEqualTo(before);
+    }
+
+    @Test
+    @EnabledIfEnvironmentVariable(named = "BENCHMARK", matches = "true")
+    void benchmark() {
+        for (int round = 0; round < 3; round++) {
+            measure("ResourceBundleMessageSource", bundle);
+            measure("PrecompiledMessageSource", ms);
+        }
+    }
+
+    private static void measure(String name, MessageSource messageSource) {
+        int iterations = 1_000_000;
+        long length = 0;
+        long start = System.nanoTime();
+        for (int i = 0; i < iterations; i++) {
+            length += messageSource.getMessage("label.item.price", null, Locale.KOREA).length();
+            length += messageSource.getMessage(PRICE_RANGE, Locale.KOREA).length();
+        }
+        long elapsed = System.nanoTime() - start;
+        System.out.printf("%s ns/op=%d length=%d%n", name, elapsed / iterations, length);
+    }
+
+    private static ResourceBundleMessageSource bundleMessageSource() {
+        ResourceBundleMessageSource messageSource = new ResourceBundleMessageSource();
+        messageSource.setBasenames("messages", "errors");
+        messageSource.setDefaultEncoding("UTF-8");
+        return messageSource;
+    }
+}
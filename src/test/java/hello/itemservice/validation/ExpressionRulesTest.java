@@ -0,0 +1,114 @@
+package hello.itemservice.validation;
+
+import hello.itemservice.domain.item.Item;
+import hello.itemservice.domain.item.SaveCheck;
+import hello.itemservice.web.validation.form.ItemSaveForm;
+import org.junit.jupiter.api.Test;
+import org.springframework.validation.BeanPropertyBindingResult;
+import org.springframework.validation.ObjectError;
+import org.springframework.validation.beanvalidation.LocalValidatorFactoryBean;
+
+import static org.assertj.core.api.Assertions.*;
+
+class ExpressionRulesTest {
+
+    @Test
+    void totalPriceMin() {
+        //given
+        Item item = new Item("itemA", 1000, 5);
+        BeanPropertyBindingResult bindingResult = new BeanPropertyBindingResult(item, "item");
+
+        //when
+        ExpressionRules.validate(item, bindingResult);
+
+        //then
+        ObjectError error = bindingResult.getGlobalError();
+        assertThat(bindingResult.getGlobalErrorCount()).isEqualTo(1);
+        assertThat(error.getCodes()).containsExactly("totalPriceMin.item", "totalPriceMin");
+        assertThat(error.getArguments()).containsExactly(10000, 5000);
+    }
+
+    @Test
+    void passOrSkipNull() {
+        //given
+        ItemSaveForm valid = new ItemSaveForm();
+        valid.setPrice(1000);
+        valid.setQuantity(10);
+        ItemSaveForm nullPrice = new ItemSaveForm();
+        nullPrice.setQuantity(1);
+
+        //when
+        BeanPropertyBindingResult validResult = new BeanPropertyBindingResult(valid, "item");
+        ExpressionRules.validate(valid, validResult);
+        BeanPropertyBindingResult nullResult = new BeanPropertyBindingResult(nullPrice, "item");
+        ExpressionRules.validate(nullPrice, nullResult);
+
+        //then
+        assertThat(validResult.hasErrors()).isFalse();
+        assertThat(nullResult.hasErrors()).isFalse();
+    }
+
+    @Test
+    void noIntOverflow() {
+        //given
+        // int로 곱하면 3,000,000,000이 넘쳐서 음수가 된다.
+        Item large = new Item("itemA", 1000000, 3000);
+        Item negative = new Item("itemA", -1000000, 3000);
+
+        //when
+        BeanPropertyBindingResult largeResult = new BeanPropertyBindingResult(large, "item");
+        ExpressionRules.validate(large, largeResult);
+        BeanPropertyBindingResult negativeResult = new BeanPropertyBindingResult(negative, "item");
+        ExpressionRules.validate(negative, negativeResult);
+
+        //then
+        assertThat(largeResult.hasErrors()).isFalse();
+        assertThat(negativeResult.getGlobalError().getArguments()).containsExactly(10000, -3000000000L);
+    }
+
+    @Test
+    void beanValidationConstraint() {
+        //given
+        LocalValidatorFactoryBean validatorFactory = new LocalValidatorFactoryBean();
+        validatorFactory.afterPropertiesSet();
+        ItemSaveForm form = new ItemSaveForm();
+        form.setItemName("itemA");
+        form.setPrice(1000);
+        form.setQuantity(5);
+        Item item = new Item("itemA", 1000, 5);
+
+        //when
+        BeanPropertyBindingResult bindingResult = new BeanPropertyBindingResult(form, "item");
+        new ExpressionMinValidatorAdapter(validatorFactory).validate(form, bindingResult);
+
+        //then
+        // @ExpressionMin은 Bean Validation 제약이고, 그룹을 지정한 검증에서도 검사한다.
+        assertThat(validatorFactory.validate(form)).extracting(violation ->
+                violation.getConstraintDescriptor().getAnnotation().annotationType()).containsExactly(ExpressionMin.class);
+        assertThat(validatorFactory.validate(item, SaveCheck.class)).hasSize(1);
+        // BindingResult에는 ExpressionRules.validate()와 같은 글로벌 오류로 남는다.
+        assertThat(bindingResult.getErrorCount()).isEqualTo(1);
+        assertThat(bindingResult.getGlobalError().getCodes()).containsExactly("totalPriceMin.item", "totalPriceMin");
+        assertThat(bindingResult.getGlobalError().getArguments()).containsExactly(10000, 5000);
+        validatorFactory.destroy();
+    }
+
+    @Test
+    void invalidExpression() {
+        assertThatThrownBy(() -> ExpressionRules.compile(InvalidForm.class))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("itemName");
+    }
+
+    @ExpressionMin(code = "invalid", expression = "price * itemName", min = 0)
+    static class InvalidForm {
+
+        public Integer getPrice() {
+            return 0;
+        }
+
+        public String getItemName() {
+            return "";
+        }
+    }
+}
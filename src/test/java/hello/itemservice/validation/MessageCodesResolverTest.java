@@ -1,5 +1,6 @@
 package hello.itemservice.validation;
 
+import hello.itemservice.web.validation.CachingMessageCodesResolver;
 import org.assertj.core.api.Assertions;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -39,5 +40,20 @@ public class MessageCodesResolverTest {
                 "required.java.lang.String",
                 "required");
     }
-    
+
+    @Test
+    void cachingMessageCodesResolver(){
+        MessageCodesResolver cachingResolver = new CachingMessageCodesResolver();
+
+        String[] messageCodes = cachingResolver.resolveMessageCodes("required", "item", "itemName", String.class);
+        String[] cached = cachingResolver.resolveMessageCodes("required", "item", "itemName", String.class);
+
+        assertThat(messageCodes).containsExactly(
+                codesResolver.resolveMessageCodes("required", "item", "itemName", String.class));
+        assertThat(cached).isSameAs(messageCodes);
+        assertThat(cachingResolver.resolveMessageCodes("required", "item"))
+                .isSameAs(cachingResolver.resolveMessageCodes("required", "item"))
+                .containsExactly("required.item", "required");
+    }
+
 }
@@ -0,0 +1,204 @@
+package hello.itemservice.web.admission;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest(properties = {
+        "item.admission.enabled=true",
+        "item.admission.client-rate=1",
+        "item.admission.client-burst=2"})
+@AutoConfigureMockMvc
+class AdmissionTest {
+
+    static final String ADD = "POST /validation/v4/items/add";
+    static final long MILLIS = TimeUnit.MILLISECONDS.toNanos(1);
+
+    @Autowired
+    MockMvc mockMvc;
+
+    @Autowired
+    AdmissionControl admissionControl;
+
+    @BeforeEach
+    void beforeEach() {
+        admissionControl.clear();
+    }
+
+    @Test
+    void rateLimitPerClient() throws Exception {
+        //when, then
+        mockMvc.perform(add("10.0.0.1")).andExpect(status().is3xxRedirection());
+        mockMvc.perform(add("10.0.0.1")).andExpect(status().is3xxRedirection());
+        mockMvc.perform(add("10.0.0.1"))
+                .andExpect(status().isTooManyRequests())
+                .andExpect(header().string(HttpHeaders.RETRY_AFTER, "1"))
+                .andExpect(content().string(""));
+
+        // 다른 클라이언트는 영향을 받지 않는다.
+        mockMvc.perform(add("10.0.0.2")).andExpect(status().is3xxRedirection());
+
+        // 폼(GET)은 제한하지 않는다.
+        for (int i = 0; i < 5; i++) {
+            mockMvc.perform(get("/validation/v4/items/add")).andExpect(status().isOk());
+        }
+
+        assertThat(admissionControl.stats())
+                .filteredOn(stats -> stats.getEndpoint().equals(ADD))
+                .extracting("admitted", "rateLimited", "overloaded", "inflight")
+                .containsExactly(tuple(3L, 1L, 0L, 0));
+    }
+
+    @Test
+    void statsEndpoint() throws Exception {
+        mockMvc.perform(add("10.0.0.3"));
+
+        mockMvc.perform(get("/validation/admission"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[?(@.endpoint == '" + ADD + "')].admitted").value(1));
+
+        mockMvc.perform(get("/validation/admission").with(request -> {
+                    request.setRemoteAddr("10.0.0.1");
+                    return request;
+                }))
+                .andExpect(status().isForbidden());
+    }
+
+    @Test
+    void tokenBucket() {
+        //given
+        TokenBucket bucket = new TokenBucket(10, 2, 0);
+
+        //when, then
+        assertThat(bucket.tryAcquire(0)).isZero();
+        assertThat(bucket.tryAcquire(0)).isZero();
+        assertThat(bucket.tryAcquire(0)).isCloseTo(100 * MILLIS, within(1000L));
+        assertThat(bucket.tryAcquire(40 * MILLIS)).isCloseTo(60 * MILLIS, within(1000L));
+        assertThat(bucket.tryAcquire(101 * MILLIS)).isZero();
+        assertThat(bucket.isFull(101 * MILLIS)).isFalse();
+        assertThat(bucket.isFull(400 * MILLIS)).isTrue();
+    }
+
+    @Test
+    void endpointLimit() {
+        //given
+        AdmissionControl.Endpoint endpoint = new AdmissionControl.Endpoint("POST /add", new AdaptiveLimit(2, 1, 10));
+
+        //when
+        int first = endpoint.tryAcquire();
+        int second = endpoint.tryAcquire();
+        int third = endpoint.tryAcquire();
+        endpoint.release(first, MILLIS);
+        int fourth = endpoint.tryAcquire();
+        endpoint.cancel();
+
+        //then
+        assertThat(first).isEqualTo(1);
+        assertThat(second).isEqualTo(2);
+        assertThat(third).isZero();
+        assertThat(fourth).isNotZero();
+        assertThat(endpoint.stats().getOverloaded()).isEqualTo(1);
+        assertThat(endpoint.stats().getInflight()).isEqualTo(1);
+    }
+
+    @Test
+    void overloadedRequestKeepsClientToken() throws Exception {
+        //given
+        AdmissionInterceptor interceptor = new AdmissionInterceptor(new AdmissionControl(1, 1, 1, 0.001, 2));
+        MockHttpServletRequest busy = addRequest();
+        interceptor.preHandle(busy, new MockHttpServletResponse(), null);
+
+        //when
+        MockHttpServletResponse overloaded = new MockHttpServletResponse();
+        boolean overloadedPassed = interceptor.preHandle(addRequest(), overloaded, null);
+        interceptor.afterCompletion(busy, new MockHttpServletResponse(), null, null);
+        boolean nextPassed = interceptor.preHandle(addRequest(), new MockHttpServletResponse(), null);
+
+        //then
+        assertThat(overloadedPassed).isFalse();
+        assertThat(overloaded.getStatus()).isEqualTo(503);
+        assertThat(overloaded.getHeader(HttpHeaders.RETRY_AFTER)).isEqualTo("1");
+        // 503으로 거절된 요청이 토큰을 썼다면 버킷(2개)이 비어서 429가 된다.
+        assertThat(nextPassed).isTrue();
+    }
+
+    @Test
+    void untrackedClientsWhenTableIsFull() {
+        //given
+        AdmissionControl control = new AdmissionControl(1000, 1, 1000, 1, 1);
+        AdmissionControl.Endpoint endpoint = control.endpoint("POST /add");
+        long now = System.nanoTime();
+        for (int i = 0; i < AdmissionControl.MAX_CLIENTS; i++) {
+            control.admitClient("client-" + i, endpoint, now);
+        }
+
+        //when
+        long first = control.admitClient("new-client", endpoint, now);
+        long second = control.admitClient("new-client", endpoint, now);
+        control.sweepIfDue(now + 2 * AdmissionControl.SWEEP_INTERVAL_NANOS);
+
+        //then
+        // 자리가 없어도 새 클라이언트끼리 버킷 하나를 나눠 쓰지 않는다.
+        assertThat(first).isZero();
+        assertThat(second).isZero();
+        assertThat(endpoint.stats().getUntracked()).isEqualTo(2);
+        // 토큰이 다시 찬(한가한) 버킷은 주기적으로 지운다.
+        assertThat(control.clientCount()).isZero();
+    }
+
+    @Test
+    void adaptiveLimit() {
+        //given
+        AdaptiveLimit limit = new AdaptiveLimit(20, 2, 200);
+
+        // 한가할 때(처리 중 요청이 한도의 절반 미만)는 늘리지 않는다.
+        for (int i = 0; i < 50; i++) {
+            limit.onSample(MILLIS, 1);
+        }
+        assertThat(limit.get()).isEqualTo(20);
+
+        // 한도를 다 쓰는데 지연이 그대로면 늘린다.
+        for (int i = 0; i < 50; i++) {
+            limit.onSample(MILLIS, limit.get());
+        }
+        int grown = limit.get();
+        assertThat(grown).isGreaterThan(20);
+
+        // 지연이 기준의 10배가 되면 줄인다.
+        for (int i = 0; i < 50; i++) {
+            limit.onSample(10 * MILLIS, limit.get());
+        }
+        assertThat(limit.get()).isLessThan(grown);
+        assertThat(limit.get()).isGreaterThanOrEqualTo(2);
+    }
+
+    private static MockHttpServletRequest addRequest() {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/validation/v4/items/add");
+        request.setRemoteAddr("10.0.0.1");
+        return request;
+    }
+
+    private static MockHttpServletRequestBuilder add(String client) {
+        return post("/validation/v4/items/add")
+                .with(request -> {
+                    request.setRemoteAddr(client);
+                    return request;
+                })
+                .param("itemName", "itemA")
+                .param("price", "10000")
+                .param("quantity", "10");
+    }
+}
@@ -0,0 +1,91 @@
+package hello.itemservice.web.asset;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.util.DigestUtils;
+import org.springframework.util.FileCopyUtils;
+
+import java.io.IOException;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class StaticAssetTest {
+
+    @Autowired
+    MockMvc mockMvc;
+
+    @Test
+    void templatesUseFingerprintedUrls() throws Exception {
+        //given
+        String css = "/css/bootstrap.min-" + md5("static/css/bootstrap.min.css") + ".css";
+        String js = "/js/item-validation-" + md5("static/js/item-validation.js") + ".js";
+
+        //when
+        String items = mockMvc.perform(get("/validation/v4/items"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        String addForm = mockMvc.perform(get("/validation/v4/items/add"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+
+        //then
+        assertThat(items).contains("href=\"" + css + "\"");
+        assertThat(addForm).contains("src=\"" + js + "\"");
+    }
+
+    @Test
+    void fingerprintedAssetIsImmutable() throws Exception {
+        String css = "/css/bootstrap.min-" + md5("static/css/bootstrap.min.css") + ".css";
+
+        mockMvc.perform(get(css))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.CACHE_CONTROL, "max-age=31536000, public, immutable"))
+                .andExpect(header().doesNotExist(HttpHeaders.CONTENT_ENCODING));
+
+        mockMvc.perform(get(css).header(HttpHeaders.ACCEPT_ENCODING, "gzip, deflate"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.CONTENT_ENCODING, "gzip"))
+                .andExpect(header().string(HttpHeaders.VARY, "Accept-Encoding"))
+                .andExpect(content().contentTypeCompatibleWith("text/css"));
+    }
+
+    @Test
+    void plainAssetIsRevalidated() throws Exception {
+        mockMvc.perform(get("/js/item-validation.js"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.CACHE_CONTROL, "no-cache"));
+
+        mockMvc.perform(get("/js/item-validation.js").header(HttpHeaders.ACCEPT_ENCODING, "gzip"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.CONTENT_ENCODING, "gzip"));
+
+        // 없는 지문 경로는 캐시하게 하지 않는다.
+        mockMvc.perform(get("/css/bootstrap.min-00000000000000000000000000000000.css"))
+                .andExpect(status().isNotFound())
+                .andExpect(header().doesNotExist(HttpHeaders.CACHE_CONTROL));
+    }
+
+    @Test
+    void versionStrategy() {
+        ContentHashVersionStrategy strategy = new ContentHashVersionStrategy();
+        String version = "0123456789abcdef0123456789abcdef";
+
+        assertThat(strategy.extractVersion("item-validation.js")).isNull();
+        assertThat(strategy.addVersion("item-validation.js", version)).isEqualTo("item-validation-" + version + ".js");
+        assertThat(strategy.extractVersion("item-validation-" + version + ".js")).isEqualTo(version);
+        assertThat(strategy.removeVersion("item-validation-" + version + ".js", version)).isEqualTo("item-validation.js");
+    }
+
+    private static String md5(String path) throws IOException {
+        return DigestUtils.md5DigestAsHex(FileCopyUtils.copyToByteArray(new ClassPathResource(path).getInputStream()));
+    }
+}
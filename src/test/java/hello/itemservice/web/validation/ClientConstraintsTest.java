@@ -0,0 +1,74 @@
+package hello.itemservice.web.validation;
+
+import hello.itemservice.domain.item.Item;
+import hello.itemservice.domain.item.SaveCheck;
+import hello.itemservice.web.validation.form.ItemSaveForm;
+import hello.itemservice.web.validation.form.ItemUpdateForm;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class ClientConstraintsTest {
+
+    @Autowired
+    ClientConstraints clientConstraints;
+
+    @Autowired
+    MockMvc mockMvc;
+
+    @Test
+    void fromBeanValidation() {
+        //when
+        ClientConstraints.FormConstraints save = clientConstraints.of(ItemSaveForm.class);
+        ClientConstraints.FormConstraints update = clientConstraints.of(ItemUpdateForm.class);
+
+        //then
+        assertThat(save.field("itemName").isRequired()).isTrue();
+        assertThat(save.field("itemName").getPattern()).isEqualTo(".*\\S.*");
+        assertThat(save.field("price").getMin()).isEqualTo(1000L);
+        assertThat(save.field("price").getMax()).isEqualTo(1000000L);
+        assertThat(save.field("quantity").getMax()).isEqualTo(9999L);
+        assertThat(update.field("quantity").isRequired()).isFalse();
+        assertThat(update.field("quantity").getMax()).isNull();
+        assertThat(save.getRules()).extracting("code", "expression", "min")
+                .containsExactly(tuple("totalPriceMin", "price * quantity", 10000));
+
+        // 폼 클래스와 그룹마다 한 번만 읽는다.
+        assertThat(clientConstraints.of(ItemSaveForm.class)).isSameAs(save);
+        assertThat(clientConstraints.of(Item.class, SaveCheck.class)).isSameAs(clientConstraints.of(Item.class, SaveCheck.class));
+    }
+
+    @Test
+    void addForm() throws Exception {
+        String html = mockMvc.perform(get("/validation/v4/items/add"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+
+        assertThat(html).contains("name=\"itemName\"", "required=\"required\"", "pattern=\".*\\S.*\"");
+        assertThat(html).contains("min=\"1000\"", "max=\"1000000\"", "max=\"9999\"");
+        assertThat(html).contains("data-expression=\"price * quantity\"", "data-min=\"10000\"", "{1}");
+        assertThat(html).containsPattern("/js/item-validation-[0-9a-f]{32}\\.js");
+    }
+
+    @Test
+    void rejectedNumberIsShownAsText() throws Exception {
+        String html = mockMvc.perform(post("/validation/v4/items/add")
+                        .param("itemName", "itemA")
+                        .param("price", "abc")
+                        .param("quantity", "10"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+
+        // 거절된 값은 text 입력으로 다시 보여주고, 오류가 없는 필드는 number 그대로 둔다.
+        assertThat(html).containsPattern("type=\"text\"[^>]*id=\"price\"[^>]*value=\"abc\"");
+        assertThat(html).containsPattern("type=\"number\"[^>]*id=\"quantity\"");
+    }
+}
@@ -0,0 +1,165 @@
+package hello.itemservice.web.validation;
+
+import hello.itemservice.validation.ExpressionMinValidatorAdapter;
+import hello.itemservice.web.validation.form.ItemSaveForm;
+import hello.itemservice.web.validation.form.ItemUpdateForm;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfEnvironmentVariable;
+import org.springframework.validation.BeanPropertyBindingResult;
+import org.springframework.validation.BindingResult;
+import org.springframework.validation.FieldError;
+import org.springframework.validation.ObjectError;
+import org.springframework.validation.Validator;
+import org.springframework.validation.beanvalidation.LocalValidatorFactoryBean;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.*;
+
+class CompiledValidatorTest {
+
+    static LocalValidatorFactoryBean validatorFactory;
+    static ExpressionMinValidatorAdapter beanValidator;
+    static CompiledValidator saveValidator;
+    static CompiledValidator updateValidator;
+
+    @BeforeAll
+    static void beforeAll() {
+        validatorFactory = new LocalValidatorFactoryBean();
+        validatorFactory.afterPropertiesSet();
+        beanValidator = new ExpressionMinValidatorAdapter(validatorFactory);
+        saveValidator = CompiledValidator.compile(ItemSaveForm.class, validatorFactory);
+        updateValidator = CompiledValidator.compile(ItemUpdateForm.class, validatorFactory);
+    }
+
+    @AfterAll
+    static void afterAll() {
+        validatorFactory.destroy();
+    }
+
+    @Test
+    void sameErrorsAsBeanValidation() {
+        ItemSaveForm[] forms = {
+                saveForm("itemA", 10000, 10),
+                saveForm(" ", 0, 10000),
+                saveForm(null, null, null),
+                saveForm("itemA", 1000000, 9999),
+                saveForm("itemA", 1000001, 1)
+        };
+        for (ItemSaveForm form : forms) {
+            assertThat(errors(saveValidator, form)).isEqualTo(errors(beanValidator, form));
+        }
+
+        ItemUpdateForm updateForm = new ItemUpdateForm();
+        updateForm.setPrice(999);
+        assertThat(errors(updateValidator, updateForm)).isEqualTo(errors(beanValidator, updateForm));
+
+        // 클래스 레벨 규칙(@ExpressionMin)은 필드 오류 다음에 글로벌 오류로 남는다.
+        BindingResult bindingResult = validate(saveValidator, saveForm("itemA", 1000, 5));
+        assertThat(bindingResult.getGlobalError().getCodes()).containsExactly("totalPriceMin.item", "totalPriceMin");
+        assertThat(bindingResult.getGlobalError().getArguments()).containsExactly(10000, 5000);
+    }
+
+    @Test
+    void codesAndArguments() {
+        //given
+        ItemSaveForm form = saveForm("itemA", 0, 10);
+
+        //when
+        BindingResult bindingResult = validate(saveValidator, form);
+
+        //then
+        FieldError fieldError = bindingResult.getFieldError("price");
+        assertThat(fieldError.getCodes()).containsExactly(
+                "Range.item.price", "Range.price", "Range.java.lang.Integer", "Range");
+        assertThat(fieldError.getArguments()).hasSize(3);
+        assertThat(fieldError.getArguments()[1]).isEqualTo(1000000L);
+        assertThat(fieldError.getArguments()[2]).isEqualTo(1000L);
+        assertThat(fieldError.getRejectedValue()).isEqualTo(0);
+    }
+
+    @Test
+    void skipBindingFailure() {
+        //given
+        ItemSaveForm form = saveForm("itemA", null, 10);
+        BindingResult bindingResult = new BeanPropertyBindingResult(form, "item");
+        bindingResult.addError(new FieldError("item", "price", "abc", true,
+                bindingResult.resolveMessageCodes("typeMismatch", "price"), null, null));
+
+        //when
+        saveValidator.validate(form, bindingResult);
+
+        //then
+        assertThat(bindingResult.getFieldErrors("price")).extracting(FieldError::getCode).containsExactly("typeMismatch");
+    }
+
+    @Test
+    void failFast() {
+        //given
+        ItemSaveForm form = saveForm(" ", 0, 10000);
+
+        //when
+        BindingResult bindingResult = validate(saveValidator.failFast(), form);
+
+        //then
+        assertThat(bindingResult.getErrorCount()).isEqualTo(1);
+        FieldError fieldError = bindingResult.getFieldError();
+        assertThat(fieldError.getField()).isEqualTo("itemName");
+        assertThat(fieldError.getCodes()).containsExactly("NotBlank");
+        assertThat(validate(saveValidator.failFast(), saveForm("itemA", 10000, 10)).hasErrors()).isFalse();
+        // 필드 위반이 없을 때만 규칙을 검사한다.
+        assertThat(validate(saveValidator.failFast(), saveForm("itemA", 1000, 5)).getGlobalError().getCode())
+                .isEqualTo("totalPriceMin");
+    }
+
+    /**
+     * 요청 하나에 해당하는 검증(BindingResult 생성 + 검증) 비용을 비교한다.
+     */
+    @Test
+    @EnabledIfEnvironmentVariable(named = "BENCHMARK", matches = "true")
+    void benchmark() {
+        ItemSaveForm valid = saveForm("itemA", 10000, 10);
+        ItemSaveForm invalid = saveForm(" ", 0, 10000);
+        for (int round = 0; round < 3; round++) {
+            measure("LocalValidatorFactoryBean valid", beanValidator, valid);
+            measure("CompiledValidator valid", saveValidator, valid);
+            measure("LocalValidatorFactoryBean invalid", beanValidator, invalid);
+            measure("CompiledValidator invalid", saveValidator, invalid);
+        }
+    }
+
+    private static void measure(String name, Validator validator, Object form) {
+        int iterations = 1_000_000;
+        int errors = 0;
+        long start = System.nanoTime();
+        for (int i = 0; i < iterations; i++) {
+            errors += validate(validator, form).getErrorCount();
+        }
+        long elapsed = System.nanoTime() - start;
+        System.out.printf("%s ns/op=%d errors=%d%n", name, elapsed / iterations, errors);
+    }
+
+    private static List<String> errors(Validator validator, Object form) {
+        return validate(validator, form).getAllErrors().stream()
+                .map(ObjectError::toString)
+                .sorted()
+                .collect(Collectors.toList());
+    }
+
+    private static BindingResult validate(Validator validator, Object form) {
+        BindingResult bindingResult = new BeanPropertyBindingResult(form, "item");
+        validator.validate(form, bindingResult);
+        return bindingResult;
+    }
+
+    private static ItemSaveForm saveForm(String itemName, Integer price, Integer quantity) {
+        ItemSaveForm form = new ItemSaveForm();
+        form.setItemName(itemName);
+        form.setPrice(price);
+        form.setQuantity(quantity);
+        return form;
+    }
+}
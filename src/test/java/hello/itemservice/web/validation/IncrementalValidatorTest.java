@@ -0,0 +1,121 @@
+package hello.itemservice.web.validation;
+
+import hello.itemservice.domain.item.Item;
+import hello.itemservice.validation.ExpressionMinValidatorAdapter;
+import hello.itemservice.web.validation.form.ItemUpdateForm;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.validation.BeanPropertyBindingResult;
+import org.springframework.validation.BindingResult;
+import org.springframework.validation.ObjectError;
+import org.springframework.validation.beanvalidation.LocalValidatorFactoryBean;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.*;
+
+class IncrementalValidatorTest {
+
+    static LocalValidatorFactoryBean validatorFactory;
+
+    @BeforeAll
+    static void beforeAll() {
+        validatorFactory = new LocalValidatorFactoryBean();
+        validatorFactory.afterPropertiesSet();
+    }
+
+    @AfterAll
+    static void afterAll() {
+        validatorFactory.destroy();
+    }
+
+    @Test
+    void sameErrorsAsFullValidation() {
+        //given
+        IncrementalValidator incrementalValidator = new IncrementalValidator(validatorFactory);
+        Item stored = item(1L, "itemA", 10000, 10);
+        ItemUpdateForm[] forms = {
+                updateForm(1L, "itemA", 10000, 10),
+                updateForm(1L, "itemA", 10000, 20),
+                updateForm(1L, "itemA", 10000, 0),
+                updateForm(1L, " ", 10000, 10),
+                updateForm(1L, "itemA", 999, 10),
+                updateForm(null, "itemA", 10000, 10),
+                updateForm(1L, null, null, null)
+        };
+
+        //when, then
+        for (int round = 0; round < 2; round++) {
+            for (ItemUpdateForm form : forms) {
+                BindingResult incremental = new BeanPropertyBindingResult(form, "item");
+                incrementalValidator.validate(form, stored, incremental);
+                assertThat(errors(incremental)).isEqualTo(errors(fullValidation(form)));
+            }
+        }
+    }
+
+    @Test
+    void skipUnchangedFields() {
+        //given
+        IncrementalValidator incrementalValidator = new IncrementalValidator(validatorFactory);
+        // V2 수정은 검증 없이 저장하므로 저장된 값이 올바르지 않을 수 있다.
+        Item stored = item(1L, " ", 10000, 0);
+        ItemUpdateForm form = updateForm(1L, " ", 10000, 0);
+
+        //when
+        BindingResult first = new BeanPropertyBindingResult(form, "item");
+        incrementalValidator.validate(form, stored, first);
+
+        //then
+        // 통과한 적 없는 값은 바뀌지 않았어도 검사한다.
+        assertThat(first.getFieldError("itemName").getCode()).isEqualTo("NotBlank");
+        assertThat(first.getGlobalError().getCode()).isEqualTo("totalPriceMin");
+        assertThat(incrementalValidator.verifiedSize(ItemUpdateForm.class)).isEqualTo(0);
+
+        //given
+        Item valid = item(2L, "itemA", 10000, 10);
+        incrementalValidator.validate(updateForm(2L, "itemA", 10000, 10), valid, new BeanPropertyBindingResult(valid, "item"));
+
+        //when
+        // 수량만 바뀌면 itemName, price 제약은 건너뛰고 수량이 들어간 규칙만 검사한다.
+        ItemUpdateForm quantityChanged = updateForm(2L, "itemA", 10000, 0);
+        BindingResult second = new BeanPropertyBindingResult(quantityChanged, "item");
+        incrementalValidator.validate(quantityChanged, valid, second);
+
+        //then
+        assertThat(incrementalValidator.verifiedSize(ItemUpdateForm.class)).isEqualTo(1);
+        assertThat(second.getFieldErrorCount()).isEqualTo(0);
+        assertThat(second.getGlobalError().getArguments()).containsExactly(10000, 0);
+    }
+
+    private static BindingResult fullValidation(ItemUpdateForm form) {
+        BindingResult bindingResult = new BeanPropertyBindingResult(form, "item");
+        new ExpressionMinValidatorAdapter(validatorFactory).validate(form, bindingResult);
+        return bindingResult;
+    }
+
+    private static List<String> errors(BindingResult bindingResult) {
+        return bindingResult.getAllErrors().stream()
+                .map(ObjectError::toString)
+                .sorted()
+                .collect(Collectors.toList());
+    }
+
+    private static Item item(Long id, String itemName, Integer price, Integer quantity) {
+        Item item = new Item(itemName, price, quantity);
+        item.setId(id);
+        item.setVersion(1L);
+        return item;
+    }
+
+    private static ItemUpdateForm updateForm(Long id, String itemName, Integer price, Integer quantity) {
+        ItemUpdateForm form = new ItemUpdateForm();
+        form.setId(id);
+        form.setItemName(itemName);
+        form.setPrice(price);
+        form.setQuantity(quantity);
+        return form;
+    }
+}
@@ -0,0 +1,83 @@
+package hello.itemservice.web.validation;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class ItemApiBinaryFormatTest {
+
+    static final MediaType SMILE = MediaType.valueOf("application/x-jackson-smile");
+    static final String VALID = "{\"itemName\":\"itemA\",\"price\":10000,\"quantity\":10}";
+
+    @Autowired
+    MockMvc mockMvc;
+
+    ObjectMapper json = new ObjectMapper();
+    ObjectMapper cbor = new ObjectMapper(new CBORFactory());
+    ObjectMapper smile = new ObjectMapper(new SmileFactory());
+
+    @Test
+    void cbor() throws Exception {
+        assertSamePayload(MediaType.APPLICATION_CBOR, cbor, VALID);
+        assertSamePayload(MediaType.APPLICATION_CBOR, cbor, ValidationItemApiControllerTest.INVALID);
+    }
+
+    @Test
+    void smile() throws Exception {
+        assertSamePayload(SMILE, smile, VALID);
+        assertSamePayload(SMILE, smile, ValidationItemApiControllerTest.INVALID);
+    }
+
+    @Test
+    void listAsCbor() throws Exception {
+        MvcResult result = mockMvc.perform(get("/validation/api/items").accept(MediaType.APPLICATION_CBOR))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_CBOR))
+                .andReturn();
+
+        assertThat(cbor.readTree(result.getResponse().getContentAsByteArray()).has("items")).isTrue();
+    }
+
+    /**
+     * 같은 요청을 JSON과 이진 형식으로 보내서 응답 내용이 같은지, 크기는 얼마인지 확인한다.
+     */
+    private void assertSamePayload(MediaType mediaType, ObjectMapper binary, String body) throws Exception {
+        //given
+        byte[] binaryBody = binary.writeValueAsBytes(json.readTree(body));
+
+        //when
+        MvcResult jsonResult = mockMvc.perform(post("/validation/api/items/add")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(body))
+                .andExpect(status().isOk())
+                .andReturn();
+        MvcResult binaryResult = mockMvc.perform(post("/validation/api/items/add")
+                        .contentType(mediaType)
+                        .accept(mediaType)
+                        .content(binaryBody))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(mediaType))
+                .andReturn();
+
+        //then
+        byte[] jsonBytes = jsonResult.getResponse().getContentAsByteArray();
+        byte[] binaryBytes = binaryResult.getResponse().getContentAsByteArray();
+        JsonNode expected = json.readTree(jsonBytes);
+        assertThat(binary.readTree(binaryBytes)).isEqualTo(expected);
+        assertThat(binaryBytes.length).isLessThan(jsonBytes.length);
+    }
+}
@@ -0,0 +1,57 @@
+package hello.itemservice.web.validation;
+
+import hello.itemservice.domain.item.ItemRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+import static org.assertj.core.api.Assertions.*;
+
+@SpringBootTest
+class ItemBulkLoaderTest {
+
+    @Autowired
+    ItemBulkLoader itemBulkLoader;
+
+    @Autowired
+    ItemRepository itemRepository;
+
+    @Test
+    void jsonArray() throws IOException {
+        String body = "[{\"itemName\":\"itemA\",\"price\":10000,\"quantity\":10},"
+                + "{\"itemName\":\" \",\"price\":10000,\"quantity\":10},"
+                + "{\"itemName\":\"itemC\",\"price\":1000,\"quantity\":1}]";
+        int before = itemRepository.count();
+
+        String[] lines = load(body);
+
+        assertThat(lines).hasSize(3);
+        assertThat(lines[0]).startsWith("{\"index\":0,\"id\":");
+        assertThat(lines[1]).isEqualTo("{\"index\":1,\"errors\":[{\"field\":\"itemName\",\"code\":\"NotBlank\"}]}");
+        assertThat(lines[2]).isEqualTo("{\"index\":2,\"errors\":[{\"code\":\"totalPriceMin\"}]}");
+        assertThat(itemRepository.count()).isEqualTo(before + 1);
+    }
+
+    @Test
+    void ndjson() throws IOException {
+        String body = "{\"itemName\":\"itemA\",\"price\":10000,\"quantity\":10}\n"
+                + "{\"itemName\":\"itemB\",\"price\":\"abc\",\"quantity\":10}\n";
+
+        String[] lines = load(body);
+
+        assertThat(lines).hasSize(2);
+        assertThat(lines[0]).startsWith("{\"index\":0,\"id\":");
+        assertThat(lines[1]).isEqualTo("{\"index\":1,\"errors\":[{\"code\":\"typeMismatch\"}]}");
+    }
+
+    private String[] load(String body) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        itemBulkLoader.load(new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8)), out);
+        return out.toString(StandardCharsets.UTF_8).split("\n");
+    }
+}
@@ -0,0 +1,121 @@
+package hello.itemservice.web.validation;
+
+import hello.itemservice.domain.item.Item;
+import hello.itemservice.domain.item.ItemRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class ItemETagTest {
+
+    @Autowired
+    MockMvc mockMvc;
+
+    @Autowired
+    ItemRepository itemRepository;
+
+    @Test
+    void listNotModified() throws Exception {
+        //given
+        String eTag = mockMvc.perform(get("/validation/v4/items"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        //when, then
+        mockMvc.perform(get("/validation/v4/items").header(HttpHeaders.IF_NONE_MATCH, eTag))
+                .andExpect(status().isNotModified())
+                .andExpect(content().string(""));
+
+        itemRepository.save(new Item("itemA", 10000, 10));
+        mockMvc.perform(get("/validation/v4/items").header(HttpHeaders.IF_NONE_MATCH, eTag))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    void itemNotModified() throws Exception {
+        //given
+        Item item = itemRepository.save(new Item("itemA", 10000, 10));
+        String eTag = mockMvc.perform(get("/validation/v4/items/{itemId}", item.getId()))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        //when, then
+        mockMvc.perform(get("/validation/v4/items/{itemId}", item.getId()).header(HttpHeaders.IF_NONE_MATCH, eTag))
+                .andExpect(status().isNotModified());
+
+        itemRepository.update(item.getId(), new Item("itemB", 20000, 20));
+        mockMvc.perform(get("/validation/v4/items/{itemId}", item.getId()).header(HttpHeaders.IF_NONE_MATCH, eTag))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    void editWithStaleVersion() throws Exception {
+        //given
+        Item item = itemRepository.save(new Item("itemA", 10000, 10));
+        itemRepository.update(item.getId(), new Item("itemB", 10000, 10));
+
+        //when, then
+        mockMvc.perform(post("/validation/v4/items/{itemId}/edit", item.getId())
+                        .header(HttpHeaders.IF_MATCH, "\"1\"")
+                        .param("id", String.valueOf(item.getId()))
+                        .param("itemName", "itemC")
+                        .param("price", "10000")
+                        .param("quantity", "10"))
+                .andExpect(status().isPreconditionFailed());
+
+        mockMvc.perform(post("/validation/v4/items/{itemId}/edit", item.getId())
+                        .param("id", String.valueOf(item.getId()))
+                        .param("itemName", "itemC")
+                        .param("price", "10000")
+                        .param("quantity", "10")
+                        .param("version", "1"))
+                .andExpect(status().isConflict());
+
+        mockMvc.perform(post("/validation/v4/items/{itemId}/edit", item.getId())
+                        .header(HttpHeaders.IF_MATCH, "\"2\"")
+                        .param("id", String.valueOf(item.getId()))
+                        .param("itemName", "itemC")
+                        .param("price", "10000")
+                        .param("quantity", "10"))
+                .andExpect(status().is3xxRedirection());
+        assertThat(itemRepository.findById(item.getId()).getItemName()).isEqualTo("itemC");
+    }
+
+    @Test
+    void editMissingItem() throws Exception {
+        mockMvc.perform(get("/validation/v4/items/{itemId}/edit", Long.MAX_VALUE))
+                .andExpect(status().isNotFound());
+
+        mockMvc.perform(post("/validation/v4/items/{itemId}/edit", Long.MAX_VALUE)
+                        .header(HttpHeaders.IF_MATCH, "\"1\"")
+                        .param("itemName", "itemC")
+                        .param("price", "10000")
+                        .param("quantity", "10"))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    void editWithMalformedIfMatch() throws Exception {
+        //given
+        Item item = itemRepository.save(new Item("itemA", 10000, 10));
+
+        //when, then
+        mockMvc.perform(post("/validation/v4/items/{itemId}/edit", item.getId())
+                        .header(HttpHeaders.IF_MATCH, "\"1\", \"2\"")
+                        .param("id", String.valueOf(item.getId()))
+                        .param("itemName", "itemC")
+                        .param("price", "10000")
+                        .param("quantity", "10"))
+                .andExpect(status().isBadRequest());
+        assertThat(itemRepository.findById(item.getId()).getItemName()).isEqualTo("itemA");
+    }
+}
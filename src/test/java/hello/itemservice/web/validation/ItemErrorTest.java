@@ -0,0 +1,96 @@
+package hello.itemservice.web.validation;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import hello.itemservice.web.validation.form.ItemSaveForm;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfEnvironmentVariable;
+import org.springframework.context.support.ResourceBundleMessageSource;
+import org.springframework.validation.BeanPropertyBindingResult;
+import org.springframework.validation.BindingResult;
+import org.springframework.validation.ObjectError;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+import static org.assertj.core.api.Assertions.*;
+
+class ItemErrorTest {
+
+    ObjectMapper objectMapper = new ObjectMapper();
+    ResourceBundleMessageSource messageSource = messageSource();
+
+    @Test
+    void serialize() throws Exception {
+        //given
+        BindingResult bindingResult = bindingResult();
+
+        //when
+        String json = objectMapper.writeValueAsString(compact(bindingResult));
+
+        //then
+        assertThat(json).isEqualTo("[{\"field\":\"price\",\"code\":\"range\",\"message\":\"가격은 1,000 ~ 1,000,000 까지 허용합니다.\"},"
+                + "{\"code\":\"totalPriceMin\",\"message\":\"상품의 가격 * 수량의 합은 10,000원 이상이어야 합니다. 현재 값 = 500\"}]");
+    }
+
+    @Test
+    void failFastHasNoMessage() throws Exception {
+        ObjectError error = bindingResult().getAllErrors().get(0);
+        assertThat(objectMapper.writeValueAsString(ItemError.of(error))).isEqualTo("{\"field\":\"price\",\"code\":\"range\"}");
+    }
+
+    /**
+     * 기존 응답(ObjectError 목록)과 응답 크기, 직렬화 처리량을 비교한다.
+     */
+    @Test
+    @EnabledIfEnvironmentVariable(named = "BENCHMARK", matches = "true")
+    void benchmark() throws Exception {
+        BindingResult bindingResult = bindingResult();
+        for (int round = 0; round < 3; round++) {
+            measure("ObjectError", () -> objectMapper.writeValueAsBytes(bindingResult.getAllErrors()));
+            measure("ItemError", () -> objectMapper.writeValueAsBytes(compact(bindingResult)));
+        }
+    }
+
+    private interface Writer {
+        byte[] write() throws Exception;
+    }
+
+    private static void measure(String name, Writer writer) throws Exception {
+        int iterations = 200_000;
+        long bytes = 0;
+        long start = System.nanoTime();
+        for (int i = 0; i < iterations; i++) {
+            bytes += writer.write().length;
+        }
+        long elapsed = System.nanoTime() - start;
+        System.out.printf("%s bytes=%d ns/op=%d ops/s=%d%n",
+                name, bytes / iterations, elapsed / iterations, iterations * 1_000_000_000L / elapsed);
+    }
+
+    private List<ItemError> compact(BindingResult bindingResult) {
+        List<ItemError> errors = new ArrayList<>();
+        for (ObjectError error : bindingResult.getAllErrors()) {
+            errors.add(ItemError.of(error, messageSource, Locale.KOREA));
+        }
+        return errors;
+    }
+
+    private static BindingResult bindingResult() {
+        ItemSaveForm form = new ItemSaveForm();
+        form.setItemName("itemA");
+        form.setPrice(100);
+        form.setQuantity(5);
+        BindingResult bindingResult = new BeanPropertyBindingResult(form, "item");
+        bindingResult.rejectValue("price", "range", new Object[]{1000, 1000000}, null);
+        bindingResult.reject("totalPriceMin", new Object[]{10000, 500}, null);
+        return bindingResult;
+    }
+
+    private static ResourceBundleMessageSource messageSource() {
+        ResourceBundleMessageSource messageSource = new ResourceBundleMessageSource();
+        messageSource.setBasenames("messages", "errors");
+        messageSource.setDefaultEncoding("utf-8");
+        return messageSource;
+    }
+}
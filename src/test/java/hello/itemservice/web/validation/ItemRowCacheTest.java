@@ -0,0 +1,114 @@
+package hello.itemservice.web.validation;
+
+import hello.itemservice.domain.item.Item;
+import hello.itemservice.domain.item.ItemRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.thymeleaf.ITemplateEngine;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class ItemRowCacheTest {
+
+    @Autowired
+    MockMvc mockMvc;
+
+    @Autowired
+    ItemRepository itemRepository;
+
+    @Autowired
+    ItemRowCache itemRowCache;
+
+    @Autowired
+    ITemplateEngine templateEngine;
+
+    @Test
+    void rendersOnlyChangedRows() throws Exception {
+        //given
+        itemRepository.save(new Item("itemA", 10000, 10));
+        List<Item> page = itemRepository.findPage(0, 20).getItems();
+        Item first = page.get(0);
+        mockMvc.perform(get("/validation/v4/items")).andExpect(status().isOk());
+        long rendered = itemRowCache.renderCount();
+
+        //when, then
+        mockMvc.perform(get("/validation/v4/items")).andExpect(status().isOk());
+        assertThat(itemRowCache.renderCount()).isEqualTo(rendered);
+
+        itemRepository.update(first.getId(), new Item("updatedA", 20000, 20));
+        String html = mockMvc.perform(get("/validation/v4/items"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        assertThat(itemRowCache.renderCount()).isEqualTo(rendered + 1);
+        assertThat(html).contains(">updatedA</a>");
+        assertThat(html).contains("href=\"/validation/v4/items/" + first.getId() + "\"");
+        assertThat(html).doesNotContain("th:fragment");
+    }
+
+    @Test
+    void rowsPerLocaleAndTemplate() throws Exception {
+        //given
+        mockMvc.perform(get("/validation/v3/items")).andExpect(status().isOk());
+        long rendered = itemRowCache.renderCount();
+        int rows = Math.min(itemRepository.count(), 20);
+
+        //when
+        mockMvc.perform(get("/validation/v3/items").header(HttpHeaders.ACCEPT_LANGUAGE, "en"))
+                .andExpect(status().isOk());
+
+        //then
+        assertThat(itemRowCache.renderCount()).isEqualTo(rendered + rows);
+    }
+
+    @Test
+    void clearStore() {
+        //given
+        ItemRepository repository = new ItemRepository();
+        ItemRowCache cache = new ItemRowCache(repository, templateEngine);
+        Item item = repository.save(new Item("itemA", 10000, 10));
+        cache.rows("validation/v1/items", List.of(item),
+                new ServletWebRequest(new MockHttpServletRequest(), new MockHttpServletResponse()));
+        assertThat(cache.size()).isEqualTo(1);
+
+        //when
+        repository.clearStore();
+
+        //then
+        assertThat(cache.size()).isZero();
+    }
+
+    @Test
+    void rowsDoNotCarrySessionId() {
+        //given
+        ItemRepository repository = new ItemRepository();
+        ItemRowCache cache = new ItemRowCache(repository, templateEngine);
+        Item item = repository.save(new Item("itemA", 10000, 10));
+        MockHttpServletResponse rewriting = new MockHttpServletResponse() {
+            @Override
+            public String encodeURL(String url) {
+                return url + ";jsessionid=SESSION";
+            }
+        };
+
+        //when
+        String html = cache.rows("validation/v1/items", List.of(item),
+                new ServletWebRequest(new MockHttpServletRequest(), rewriting));
+
+        //then
+        assertThat(html).contains("href=\"/validation/v1/items/" + item.getId() + "\"");
+        assertThat(html).doesNotContain("jsessionid");
+    }
+}
@@ -0,0 +1,90 @@
+package hello.itemservice.web.validation;
+
+import hello.itemservice.ReactiveItemApiApplication;
+import hello.itemservice.domain.item.Item;
+import hello.itemservice.domain.item.ItemRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.reactive.server.WebTestClient;
+
+import static org.assertj.core.api.Assertions.*;
+
+@SpringBootTest(classes = ReactiveItemApiApplication.class,
+        webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = "spring.main.web-application-type=reactive")
+class ReactiveItemApiControllerTest {
+
+    @Autowired
+    WebTestClient webTestClient;
+
+    @Autowired
+    ItemRepository itemRepository;
+
+    @Test
+    void allErrors() {
+        webTestClient.post().uri("/validation/api/items/add")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(ValidationItemApiControllerTest.INVALID)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.length()").isEqualTo(4)
+                .jsonPath("$[?(@.code == 'totalPriceMin')]").exists()
+                .jsonPath("$[?(@.field == 'price')].code").isEqualTo("Range")
+                .jsonPath("$[?(@.field == 'price')].message").isEqualTo("price, 1,000 ~ 1,000,000 허용")
+                .jsonPath("$[0].codes").doesNotExist();
+    }
+
+    @Test
+    void failFast() {
+        webTestClient.post().uri("/validation/api/items/add")
+                .header(FailFastValidation.HEADER, FailFastValidation.FAIL_FAST)
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(ValidationItemApiControllerTest.INVALID)
+                .exchange()
+                .expectStatus().isBadRequest()
+                .expectBody().json("{\"field\":\"itemName\",\"code\":\"NotBlank\"}");
+    }
+
+    @Test
+    void item() {
+        //given
+        Item item = itemRepository.save(new Item("itemA", 10000, 10));
+
+        //when, then
+        webTestClient.get().uri("/validation/api/items/{itemId}", item.getId())
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody().jsonPath("$.itemName").isEqualTo("itemA");
+        webTestClient.get().uri("/validation/api/items/{itemId}", Long.MAX_VALUE)
+                .exchange()
+                .expectStatus().isNotFound();
+    }
+
+    @Test
+    void bulk() {
+        //given
+        String body = "{\"itemName\":\"itemA\",\"price\":10000,\"quantity\":10}\n"
+                + "{\"itemName\":\" \",\"price\":10000,\"quantity\":10}\n"
+                + "{\"itemName\":\"itemC\",\"price\":1000,\"quantity\":1}\n";
+        int before = itemRepository.count();
+
+        //when
+        String result = webTestClient.post().uri("/validation/api/items/bulk")
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .bodyValue(body)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody(String.class).returnResult().getResponseBody();
+
+        //then
+        String[] lines = result.split("\n");
+        assertThat(lines).hasSize(3);
+        assertThat(lines[0]).startsWith("{\"index\":0,\"id\":");
+        assertThat(lines[1]).isEqualTo("{\"index\":1,\"errors\":[{\"field\":\"itemName\",\"code\":\"NotBlank\"}]}");
+        assertThat(lines[2]).isEqualTo("{\"index\":2,\"errors\":[{\"code\":\"totalPriceMin\"}]}");
+        assertThat(itemRepository.count()).isEqualTo(before + 1);
+    }
+}
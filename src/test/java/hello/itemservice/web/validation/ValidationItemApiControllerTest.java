@@ -0,0 +1,44 @@
+package hello.itemservice.web.validation;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class ValidationItemApiControllerTest {
+
+    static final String INVALID = "{\"itemName\":\" \",\"price\":0,\"quantity\":10000}";
+
+    @Autowired
+    MockMvc mockMvc;
+
+    @Test
+    void allErrors() throws Exception {
+        mockMvc.perform(post("/validation/api/items/add")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(INVALID))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(4))
+                .andExpect(jsonPath("$[?(@.code == 'totalPriceMin')]").exists())
+                .andExpect(jsonPath("$[?(@.field == 'price')].code").value("Range"))
+                .andExpect(jsonPath("$[?(@.field == 'price')].message").value("price, 1,000 ~ 1,000,000 허용"))
+                .andExpect(jsonPath("$[0].codes").doesNotExist());
+    }
+
+    @Test
+    void failFast() throws Exception {
+        mockMvc.perform(post("/validation/api/items/add")
+                        .header(FailFastValidation.HEADER, FailFastValidation.FAIL_FAST)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(INVALID))
+                .andExpect(status().isBadRequest())
+                .andExpect(content().json("{\"field\":\"itemName\",\"code\":\"NotBlank\"}", true));
+    }
+}
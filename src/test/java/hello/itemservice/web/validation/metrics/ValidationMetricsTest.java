@@ -0,0 +1,90 @@
+package hello.itemservice.web.validation.metrics;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest(properties = "item.validation.metrics.enabled=true")
+@AutoConfigureMockMvc
+class ValidationMetricsTest {
+
+    static final String ADD = "POST /validation/v4/items/add";
+
+    @Autowired
+    MockMvc mockMvc;
+
+    @Autowired
+    ValidationMetrics metrics;
+
+    @BeforeEach
+    void beforeEach() {
+        metrics.clear();
+    }
+
+    @Test
+    void countErrorCodes() throws Exception {
+        //when
+        mockMvc.perform(post("/validation/v4/items/add")
+                .param("itemName", "")
+                .param("price", "0")
+                .param("quantity", "0"));
+        mockMvc.perform(post("/validation/v4/items/add")
+                .param("itemName", "")
+                .param("price", "abc")
+                .param("quantity", "0"));
+
+        //then
+        assertThat(metrics.errorCounts())
+                .filteredOn(count -> count.getEndpoint().equals(ADD))
+                .extracting("version", "code", "count")
+                .containsExactlyInAnyOrder(
+                        tuple("v4", "NotBlank", 2L),
+                        tuple("v4", "Range", 1L),
+                        tuple("v4", "totalPriceMin", 1L),
+                        tuple("v4", "typeMismatch", 1L));
+        assertThat(metrics.timings())
+                .filteredOn(timing -> timing.getEndpoint().equals(ADD))
+                .extracting(timing -> timing.getStep() + "=" + timing.getHistogram().getCount())
+                .containsExactly("bind=2", "validate=2");
+    }
+
+    @Test
+    void metricsEndpoint() throws Exception {
+        mockMvc.perform(post("/validation/v4/items/add").param("itemName", ""));
+
+        mockMvc.perform(get("/validation/metrics"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.errors[?(@.code == 'NotBlank')].endpoint").value(ADD))
+                .andExpect(jsonPath("$.timings[0].histogram.count").exists());
+
+        mockMvc.perform(get("/validation/metrics").with(request -> {
+                    request.setRemoteAddr("10.0.0.1");
+                    return request;
+                }))
+                .andExpect(status().isForbidden());
+    }
+
+    @Test
+    void histogramBuckets() {
+        //given
+        LatencyHistogram histogram = new LatencyHistogram();
+
+        //when
+        histogram.record(500);          // 0us
+        histogram.record(3_000);        // 3us => 4us 구간
+        histogram.record(4_000);        // 4us => 4us 구간
+        histogram.record(1_000_000);    // 1000us => 1024us 구간
+
+        //then
+        assertThat(histogram.getCount()).isEqualTo(4);
+        assertThat(histogram.getBuckets()).containsExactly(
+                entry(1L, 1L), entry(4L, 2L), entry(1024L, 1L));
+    }
+}